@@ -5,6 +5,7 @@ import org.squiddev.plethora.api.method.IPartialContext;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Provides metadata about an object.
@@ -36,6 +37,30 @@ public interface IMetaProvider<T> {
 		return 0;
 	}
 
+	/**
+	 * Get the keys which this provider may produce. When only some keys of an object's metadata are requested, providers
+	 * which cannot produce any of them will be skipped.
+	 *
+	 * @return The keys this provider may produce, or {@code null} if they are not known ahead of time.
+	 * @see IPartialContext#getMeta(Set)
+	 */
+	@Nullable
+	default Set<String> getKeys() {
+		return null;
+	}
+
+	/**
+	 * Whether the results of this provider may be reused for the remainder of the current tick. This should only be
+	 * the case when the result depends only on the target, and not any other part of the context.
+	 *
+	 * Providers whose data may change several times within a single tick should not be cacheable.
+	 *
+	 * @return If this provider's results may be cached.
+	 */
+	default boolean isCacheable() {
+		return false;
+	}
+
 	/**
 	 * Get a basic description of this meta provider
 	 *
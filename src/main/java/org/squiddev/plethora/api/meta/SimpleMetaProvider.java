@@ -21,4 +21,14 @@ public interface SimpleMetaProvider<T> extends IMetaProvider<T> {
 
 	@Nonnull
 	Map<String, ?> getMeta(@Nonnull T target);
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Simple providers only depend on their target, and so are cacheable by default.
+	 */
+	@Override
+	default boolean isCacheable() {
+		return true;
+	}
 }
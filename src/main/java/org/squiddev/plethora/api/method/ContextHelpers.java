@@ -1,5 +1,6 @@
 package org.squiddev.plethora.api.method;
 
+import dan200.computercraft.api.lua.LuaException;
 import net.minecraft.item.ItemStack;
 import org.squiddev.plethora.api.meta.TypedMeta;
 import org.squiddev.plethora.api.reference.Reference;
@@ -9,15 +10,31 @@ import org.squiddev.plethora.integration.MetaWrapper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 public final class ContextHelpers {
 	private ContextHelpers() {
 	}
 
+	/**
+	 * Convert a Lua list of keys and namespaces into a filter for {@link IPartialContext#getMeta(Set)}.
+	 *
+	 * @param fields The list of fields, or {@code null} if none was given.
+	 * @return The converted filter, or {@code null} if all fields should be included.
+	 * @throws LuaException If the list contains something other than strings.
+	 */
+	@Nullable
+	public static Set<String> getMetaFilter(@Nullable Map<?, ?> fields) throws LuaException {
+		if (fields == null) return null;
+
+		Set<String> filter = new HashSet<>(fields.size());
+		for (Object field : fields.values()) {
+			if (!(field instanceof String)) throw ArgumentHelper.badObjectType("fields", "list of strings", field);
+			filter.add((String) field);
+		}
+		return filter;
+	}
+
 	/**
 	 * Generate a Lua list with the metadata taken for each element in the list
 	 *
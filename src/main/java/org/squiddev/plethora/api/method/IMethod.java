@@ -65,6 +65,19 @@ public interface IMethod<T> {
 		return true;
 	}
 
+	/**
+	 * Whether {@link #canApply(IPartialContext)} only depends on the "shape" of the context: its keys, the class of
+	 * each value and the available modules, rather than the values themselves.
+	 *
+	 * If this is true, the result of {@link #canApply(IPartialContext)} may be cached and reused for other contexts
+	 * with the same shape.
+	 *
+	 * @return If this method's applicability only depends on the context's shape.
+	 */
+	default boolean isShapeOnly() {
+		return false;
+	}
+
 	/**
 	 * Apply the method
 	 *
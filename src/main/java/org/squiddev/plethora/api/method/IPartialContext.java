@@ -115,4 +115,18 @@ public interface IPartialContext<T> {
 	 */
 	@Nonnull
 	TypedMeta<T, ?> getMeta();
+
+	/**
+	 * Get some of the metadata for this object.
+	 *
+	 * Each entry in the filter is either a key to include, or a namespace (the mod id a meta provider was registered
+	 * under), which includes everything from that mod's providers. Providers which cannot produce any of the requested
+	 * keys are skipped entirely.
+	 *
+	 * @param filter The keys and namespaces to include, or {@code null} to include everything.
+	 * @return The object's metadata
+	 * @see org.squiddev.plethora.api.meta.IMetaProvider#getKeys()
+	 */
+	@Nonnull
+	TypedMeta<T, ?> getMeta(@Nullable Set<String> filter);
 }
@@ -166,6 +166,20 @@ public final class MethodResult {
 	@FunctionalInterface
 	public interface Resolver {
 		boolean update();
+
+		/**
+		 * Get the number of ticks the executor may skip before calling {@link #update()} again. This is called after
+		 * {@link #update()} returns {@code false}, and allows executors to put a task to sleep rather than polling it
+		 * every tick.
+		 *
+		 * If an executor calls this method, it must not call {@link #update()} again until the given number of ticks
+		 * have passed. Resolvers may assume this time has elapsed.
+		 *
+		 * @return The number of ticks to skip. 0 means this should be updated on the next tick.
+		 */
+		default int getSleep() {
+			return 0;
+		}
 	}
 
 	private static class DelayedResolver implements Resolver {
@@ -179,6 +193,13 @@ public final class MethodResult {
 		public boolean update() {
 			return remaining-- == 0;
 		}
+
+		@Override
+		public int getSleep() {
+			int sleep = Math.max(0, remaining);
+			remaining -= sleep;
+			return sleep;
+		}
 	}
 
 	private static final Resolver IMMEDIATE = () -> true;
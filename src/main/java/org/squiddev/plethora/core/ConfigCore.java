@@ -83,6 +83,49 @@ public final class ConfigCore {
 		}
 	}
 
+	/**
+	 * Controls how method results are evaluated on the server thread.
+	 */
+	public static final class Executor {
+		/**
+		 * The maximum time (in microseconds) a task runner will spend
+		 * evaluating tasks each tick. Tasks are run in a round-robin
+		 * fashion across computers, so those which do not get to run this
+		 * tick will be first in line on the next one.
+		 */
+		@DefaultInt(1000)
+		@Range(min = 1)
+		public static int tickBudget;
+
+		private Executor() {
+		}
+	}
+
+	/**
+	 * Controls how metadata is gathered.
+	 */
+	public static final class Metadata {
+		/**
+		 * Use a fast, non-cryptographic hash for item NBT rather than
+		 * MD5. This is considerably cheaper for large NBT tags, but will
+		 * change the nbtHash of every item, breaking any stored hashes.
+		 */
+		@DefaultBoolean(false)
+		public static boolean fastNbtHash;
+
+		/**
+		 * The maximum number of metadata provider results to cache. Results
+		 * are only reused within the tick they were gathered in, so repeated
+		 * reads of the same object are free. Set to 0 to disable the cache.
+		 */
+		@DefaultInt(0)
+		@Range(min = 0)
+		public static int cacheSize;
+
+		private Metadata() {
+		}
+	}
+
 	/**
 	 * Blacklist various providers
 	 */
@@ -179,6 +222,25 @@ public final class ConfigCore {
 		@DefaultBoolean(false)
 		public static boolean bytecodeVerify;
 
+		/**
+		 * Bind methods using method handles, rather than generating a
+		 * class for each one. This avoids the cost of generating and
+		 * loading classes, though calls may be slightly slower.
+		 */
+		@RequiresRestart
+		@DefaultBoolean(false)
+		public static boolean methodHandles;
+
+		/**
+		 * Cache the results of processing annotations, such as resolved
+		 * generic types and method signatures, in a file alongside the
+		 * config. This index is rebuilt whenever the installed mods change,
+		 * and is never used in strict mode.
+		 */
+		@RequiresRestart
+		@DefaultBoolean(true)
+		public static boolean startupIndex;
+
 		private Testing() {
 		}
 	}
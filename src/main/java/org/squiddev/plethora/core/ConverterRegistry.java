@@ -2,8 +2,6 @@ package org.squiddev.plethora.core;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.squiddev.plethora.api.converter.IConverter;
 import org.squiddev.plethora.api.converter.IConverterRegistry;
 import org.squiddev.plethora.api.reference.IReference;
@@ -11,17 +9,43 @@ import org.squiddev.plethora.core.collections.ClassIteratorIterable;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConverterRegistry implements IConverterRegistry {
 	public static final ConverterRegistry instance = new ConverterRegistry();
 
+	private static final int DUPLICATE = -2;
+	private static final ConverterEntry[] NO_CONVERTERS = new ConverterEntry[0];
+
 	private final Multimap<Class<?>, IConverter<?, ?>> converters = MultimapBuilder.hashKeys().hashSetValues().build();
 
+	/**
+	 * A cache of every converter which applies to a concrete class, along with the class it was registered against.
+	 * This is cleared whenever a new converter is registered.
+	 */
+	private final Map<Class<?>, ConverterEntry[]> converterCache = new ConcurrentHashMap<>();
+
 	<TIn, TOut> void registerConverter(@Nonnull Class<TIn> source, @Nonnull IConverter<TIn, TOut> converter) {
 		Objects.requireNonNull(source, "source cannot be null");
 		Objects.requireNonNull(converter, "converter cannot be null");
 
 		converters.put(source, converter);
+		converterCache.clear();
+	}
+
+	private ConverterEntry[] getConverters(@Nonnull Class<?> target) {
+		ConverterEntry[] result = converterCache.get(target);
+		if (result == null) converterCache.put(target, result = buildConverters(target));
+		return result;
+	}
+
+	private ConverterEntry[] buildConverters(@Nonnull Class<?> target) {
+		List<ConverterEntry> result = new ArrayList<>();
+		for (Class<?> klass : new ClassIteratorIterable(target)) {
+			for (IConverter<?, ?> converter : converters.get(klass)) result.add(new ConverterEntry(klass, converter));
+		}
+
+		return result.isEmpty() ? NO_CONVERTERS : result.toArray(NO_CONVERTERS);
 	}
 
 	@Nonnull
@@ -48,45 +72,41 @@ public class ConverterRegistry implements IConverterRegistry {
 		if (keys.size() != values.size()) throw new IllegalStateException("lists must be of the same size");
 		if (keys.size() != references.size()) throw new IllegalStateException("lists must be of the same size");
 
-		Object2IntMap<Object> positions = new Object2IntOpenHashMap<>();
-		positions.defaultReturnValue(-1);
-		for (int i = 0; i < values.size(); i++) positions.put(values.get(i), i);
-
 		for (int i = startPoint; i < values.size(); i++) {
 			Object target = values.get(i);
 
-			Class<?> initial = target.getClass();
-			for (Class<?> klass : new ClassIteratorIterable(initial)) {
-				for (IConverter<?, ?> converter : converters.get(klass)) {
-					Object converted = ((IConverter<Object, Object>) converter).convert(target);
-					if (converted == null) continue;
-
-					int existing = positions.getInt(converted);
-					if (existing == positions.defaultReturnValue()) {
-						positions.put(converted, keys.size());
-						keys.add(keys.get(i));
-						values.add(converted);
-
-						boolean isConstant = converter.isConstant();
-						if (isConstant) {
-							Object reference = references.get(i);
-							if (reference instanceof ConverterReference) {
-								isConstant = false;
-							} else if (reference instanceof IReference) {
-								isConstant = ((IReference) reference).isConstant();
-							}
-						}
+			for (ConverterEntry entry : getConverters(target.getClass())) {
+				Class<?> klass = entry.source;
+				IConverter<?, ?> converter = entry.converter;
 
-						references.add(isConstant ? converted : new ConverterReference(i, klass, converter));
-					} else if (requiresInsertion(keys, values, existing, keys.get(i), converted)) {
-						positions.put(converted, keys.size());
-						keys.add(keys.get(i));
-						values.add(converted);
+				Object converted = ((IConverter<Object, Object>) converter).convert(target);
+				if (converted == null) continue;
 
-						Object reference = references.get(existing);
-						references.add(reference instanceof ConverterReference && ((ConverterReference) reference).isIdentity()
-							? reference : ConverterReference.identity(existing));
+				int existing = findExisting(keys, values, keys.get(i), converted);
+				if (existing == DUPLICATE) continue;
+
+				if (existing == -1) {
+					keys.add(keys.get(i));
+					values.add(converted);
+
+					boolean isConstant = converter.isConstant();
+					if (isConstant) {
+						Object reference = references.get(i);
+						if (reference instanceof ConverterReference) {
+							isConstant = false;
+						} else if (reference instanceof IReference) {
+							isConstant = ((IReference) reference).isConstant();
+						}
 					}
+
+					references.add(isConstant ? converted : new ConverterReference(i, klass, converter));
+				} else {
+					keys.add(keys.get(i));
+					values.add(converted);
+
+					Object reference = references.get(existing);
+					references.add(reference instanceof ConverterReference && ((ConverterReference) reference).isIdentity()
+						? reference : ConverterReference.identity(existing));
 				}
 			}
 		}
@@ -99,37 +119,43 @@ public class ConverterRegistry implements IConverterRegistry {
 
 		if (keys.size() != values.size()) throw new IllegalStateException("lists must be of the same size");
 
-		Object2IntMap<Object> positions = new Object2IntOpenHashMap<>();
-		positions.defaultReturnValue(-1);
-		for (int i = 0; i < values.size(); i++) positions.put(values.get(i), i);
-
 		for (int i = startPoint; i < values.size(); i++) {
 			Object target = values.get(i);
 
-			Class<?> initial = target.getClass();
-			for (Class<?> klass : new ClassIteratorIterable(initial)) {
-				for (IConverter<?, ?> converter : converters.get(klass)) {
-					Object converted = ((IConverter<Object, Object>) converter).convert(target);
-					if (converted == null) continue;
-
-					int existing = positions.getInt(converted);
-					if (existing == positions.defaultReturnValue() || requiresInsertion(keys, values, existing, keys.get(i), converted)) {
-						positions.put(converted, keys.size());
-						keys.add(keys.get(i));
-						values.add(converted);
-					}
+			for (ConverterEntry entry : getConverters(target.getClass())) {
+				Object converted = ((IConverter<Object, Object>) entry.converter).convert(target);
+				if (converted == null) continue;
+
+				if (findExisting(keys, values, keys.get(i), converted) != DUPLICATE) {
+					keys.add(keys.get(i));
+					values.add(converted);
 				}
 			}
 		}
 	}
 
-	private static boolean requiresInsertion(List<String> keys, List<Object> values, int existing, String key, Object value) {
-		for (int i = existing; i >= 0; i--) {
-			if (values.get(i).equals(value) && keys.get(i).equals(key)) {
-				return false;
-			}
+	/**
+	 * Find the last value equal to {@code value}. Contexts rarely contain more than a handful of values, so a linear
+	 * scan is considerably cheaper than hashing every value.
+	 *
+	 * @param keys   The current keys.
+	 * @param values The current values.
+	 * @param key    The key of the value to find.
+	 * @param value  The value to find.
+	 * @return The index of the last equal value, {@code -1} if there is none, or {@link #DUPLICATE} if an equal value
+	 * already exists with the same key.
+	 */
+	private static int findExisting(List<String> keys, List<Object> values, String key, Object value) {
+		int existing = -1;
+		for (int i = values.size() - 1; i >= 0; i--) {
+			Object other = values.get(i);
+			if (other != value && !other.equals(value)) continue;
+
+			if (keys.get(i).equals(key)) return DUPLICATE;
+			if (existing == -1) existing = i;
 		}
-		return true;
+
+		return existing;
 	}
 
 	private class ConverterIterator implements Iterator<Object> {
@@ -151,13 +177,10 @@ public class ConverterRegistry implements IConverterRegistry {
 		public Object next() {
 			Object next = queue.remove();
 
-			Class<?> initial = next.getClass();
-			for (Class<?> klass : new ClassIteratorIterable(initial)) {
-				for (IConverter<?, ?> converter : converters.get(klass)) {
-					Object converted = ((IConverter<Object, Object>) converter).convert(next);
-					if (converted != null && allConverted.add(converted)) {
-						queue.offer(converted);
-					}
+			for (ConverterEntry entry : getConverters(next.getClass())) {
+				Object converted = ((IConverter<Object, Object>) entry.converter).convert(next);
+				if (converted != null && allConverted.add(converted)) {
+					queue.offer(converted);
 				}
 			}
 
@@ -169,4 +192,14 @@ public class ConverterRegistry implements IConverterRegistry {
 			throw new UnsupportedOperationException("remove");
 		}
 	}
+
+	private static final class ConverterEntry {
+		final Class<?> source;
+		final IConverter<?, ?> converter;
+
+		ConverterEntry(Class<?> source, IConverter<?, ?> converter) {
+			this.source = source;
+			this.converter = converter;
+		}
+	}
 }
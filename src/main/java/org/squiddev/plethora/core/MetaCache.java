@@ -0,0 +1,135 @@
+package org.squiddev.plethora.core;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import org.squiddev.plethora.api.meta.IMetaProvider;
+import org.squiddev.plethora.api.method.IPartialContext;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the results of {@linkplain IMetaProvider#isCacheable() cacheable} meta providers for the remainder of the
+ * current tick.
+ *
+ * Results are keyed on the provider and the identity of the target. As item stacks are frequently copied and mutated
+ * in place, they are instead keyed on their item, damage, count and the contents of their NBT tag. The tag is copied
+ * when an entry is stored, so changing a stack's tag in place does not change the key of an existing entry.
+ */
+final class MetaCache {
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private volatile long tick;
+
+	/**
+	 * Invalidate every entry in the cache. This should be called at the start of every tick.
+	 */
+	void tick() {
+		tick++;
+		entries.clear();
+	}
+
+	/**
+	 * Get the metadata for a provider, using the cached result if available.
+	 *
+	 * @param provider The provider to get metadata from.
+	 * @param context  The context to get metadata for.
+	 * @param limit    The maximum number of entries in the cache.
+	 * @return The provider's metadata.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	Map<String, ?> get(@Nonnull IMetaProvider provider, @Nonnull IPartialContext<?> context, int limit) {
+		long tick = this.tick;
+		Key key = new Key(provider, context.getTarget());
+
+		Entry entry = entries.get(key);
+		if (entry != null && entry.tick == tick) return entry.meta;
+
+		Map<String, ?> meta = provider.getMeta(context);
+		if (meta != null && entries.size() < limit) entries.put(key.copy(), new Entry(tick, meta));
+		return meta;
+	}
+
+	private static final class Entry {
+		final long tick;
+		final Map<String, ?> meta;
+
+		Entry(long tick, Map<String, ?> meta) {
+			this.tick = tick;
+			this.meta = meta;
+		}
+	}
+
+	private static final class Key {
+		final IMetaProvider<?> provider;
+		final Object target;
+
+		// Only used for item stacks
+		final Item item;
+		final int damage;
+		final int count;
+		final NBTTagCompound tag;
+
+		private final int hash;
+
+		Key(IMetaProvider<?> provider, Object target) {
+			this.provider = provider;
+
+			if (target instanceof ItemStack) {
+				ItemStack stack = (ItemStack) target;
+				this.target = null;
+				item = stack.getItem();
+				damage = stack.getItemDamage();
+				count = stack.getCount();
+				tag = stack.getTagCompound();
+
+				int hash = 31 * (31 * (31 * System.identityHashCode(provider) + System.identityHashCode(item)) + damage) + count;
+				this.hash = 31 * hash + (tag == null ? 0 : tag.hashCode());
+			} else {
+				this.target = target;
+				item = null;
+				damage = 0;
+				count = 0;
+				tag = null;
+
+				hash = 31 * System.identityHashCode(provider) + System.identityHashCode(target);
+			}
+		}
+
+		private Key(Key other, NBTTagCompound tag) {
+			provider = other.provider;
+			target = other.target;
+			item = other.item;
+			damage = other.damage;
+			count = other.count;
+			hash = other.hash;
+			this.tag = tag;
+		}
+
+		/**
+		 * Create a copy of this key which is safe to store, and so is not affected by later changes to the stack's tag.
+		 *
+		 * @return The copied key.
+		 */
+		Key copy() {
+			return tag == null ? this : new Key(this, tag.copy());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+
+			Key other = (Key) obj;
+			return provider == other.provider && target == other.target
+				&& item == other.item && damage == other.damage && count == other.count && Objects.equals(tag, other.tag);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.squiddev.plethora.core;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import org.squiddev.plethora.api.meta.IMetaProvider;
 import org.squiddev.plethora.api.meta.IMetaRegistry;
@@ -10,21 +11,34 @@ import org.squiddev.plethora.core.collections.ClassIteratorIterable;
 import org.squiddev.plethora.core.collections.SortedMultimap;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MetaRegistry implements IMetaRegistry {
 	public static final MetaRegistry instance = new MetaRegistry();
 
 	final SortedMultimap<Class<?>, IMetaProvider<?>> providers = SortedMultimap.create(Comparator.comparingInt(IMetaProvider::getPriority));
 	private static final Map<IMetaProvider<?>, String> names = new HashMap<>();
+	private static final Map<IMetaProvider<?>, String> namespaces = new HashMap<>();
 
-	<T> void registerMetaProvider(@Nonnull Class<T> target, @Nonnull IMetaProvider<T> provider, @Nonnull String name) {
+	/**
+	 * A cache of the flattened provider list for each concrete class. This is cleared whenever a new provider is
+	 * registered.
+	 */
+	private final Map<Class<?>, List<IMetaProvider<?>>> providerCache = new ConcurrentHashMap<>();
+
+	private final MetaCache metaCache = new MetaCache();
+
+	<T> void registerMetaProvider(@Nonnull Class<T> target, @Nonnull IMetaProvider<T> provider, @Nonnull String name, @Nullable String namespace) {
 		Objects.requireNonNull(target, "target cannot be null");
 		Objects.requireNonNull(provider, "provider cannot be null");
 		Objects.requireNonNull(name, "name cannot be null");
 
 		providers.put(target, provider);
 		names.put(provider, name);
+		if (!Strings.isNullOrEmpty(namespace)) namespaces.put(provider, namespace);
+		providerCache.clear();
 	}
 
 	public String getName(@Nonnull IMetaProvider<?> provider) {
@@ -33,9 +47,17 @@ public final class MetaRegistry implements IMetaRegistry {
 		return provider.getClass().getName();
 	}
 
+	/**
+	 * Get the metadata for a context, optionally only including some keys.
+	 *
+	 * @param context The context to get metadata for.
+	 * @param filter  The keys and provider namespaces to include, or {@code null} to include everything.
+	 * @return The gathered metadata.
+	 * @see org.squiddev.plethora.api.method.IPartialContext#getMeta(Set)
+	 */
 	@Nonnull
 	@SuppressWarnings("unchecked")
-	public <T> TypedMeta<T, ?> getMeta(@Nonnull PartialContext<T> context) {
+	public <T> TypedMeta<T, ?> getMeta(@Nonnull PartialContext<T> context, @Nullable Set<String> filter) {
 		Objects.requireNonNull(context, "context cannot be null");
 
 		String[] keys = context.keys;
@@ -43,8 +65,11 @@ public final class MetaRegistry implements IMetaRegistry {
 
 		// TODO: Handle priority across each conversion correctly
 
+		int cacheSize = ConfigCore.Metadata.cacheSize;
+
 		HashTypedMeta<T, Object> result = null;
 		Map<String, ?> first = null;
+		boolean firstCached = false;
 		for (int i = values.length - 1; i >= 0; i--) {
 			if (!ContextKeys.TARGET.equals(keys[i])) continue;
 
@@ -52,12 +77,26 @@ public final class MetaRegistry implements IMetaRegistry {
 			IPartialContext<?> childContext = context.withIndex(i);
 
 			for (IMetaProvider provider : getMetaProviders(child.getClass())) {
-				Map<String, ?> res = provider.getMeta(childContext);
+				// Skip any providers which cannot produce a key we're interested in
+				String namespace = namespaces.get(provider);
+				boolean project = filter != null && (namespace == null || !filter.contains(namespace));
+				if (project) {
+					Set<String> providerKeys = provider.getKeys();
+					if (providerKeys != null && Collections.disjoint(providerKeys, filter)) continue;
+				}
+
+				boolean cached = cacheSize > 0 && provider.isCacheable();
+				Map<String, ?> res = cached ? metaCache.get(provider, childContext, cacheSize) : provider.getMeta(childContext);
 				if (res == null) {
 					PlethoraCore.LOG.error("Meta provider {} returned null", getName(provider));
 					continue;
 				}
 
+				if (project) {
+					Map<String, ?> projected = project(res, filter);
+					if (projected != res) cached = false;
+					res = projected;
+				}
 				if (res.isEmpty()) continue;
 
 				if (result != null) {
@@ -68,27 +107,54 @@ public final class MetaRegistry implements IMetaRegistry {
 					result.putAll(res);
 				} else {
 					first = res;
+					firstCached = cached;
 				}
 			}
 		}
 
 		if (result != null) return result;
-		if (first != null) return new WrapperTypedMeta<>(first);
+		// Cached maps are shared, so we must copy them before handing them out.
+		if (first != null) return firstCached ? new HashTypedMeta<>(first) : new WrapperTypedMeta<>(first);
 		return WrapperTypedMeta.empty();
 	}
 
+	/**
+	 * Invalidate any cached metadata. This is called at the start of every tick.
+	 */
+	void tick() {
+		metaCache.tick();
+	}
+
+	@Nonnull
+	private static Map<String, ?> project(@Nonnull Map<String, ?> meta, @Nonnull Set<String> filter) {
+		if (filter.containsAll(meta.keySet())) return meta;
+
+		Map<String, Object> result = new HashMap<>();
+		for (String key : filter) {
+			Object value = meta.get(key);
+			if (value != null) result.put(key, value);
+		}
+		return result;
+	}
+
 	@Nonnull
 	@Override
 	public List<IMetaProvider<?>> getMetaProviders(@Nonnull Class<?> target) {
 		Objects.requireNonNull(target, "target cannot be null");
 
+		List<IMetaProvider<?>> result = providerCache.get(target);
+		if (result == null) providerCache.put(target, result = buildMetaProviders(target));
+		return result;
+	}
+
+	private List<IMetaProvider<?>> buildMetaProviders(@Nonnull Class<?> target) {
 		List<IMetaProvider<?>> result = Lists.newArrayList();
 
 		for (Class<?> klass : new ClassIteratorIterable(target)) {
 			result.addAll(providers.get(klass));
 		}
 
-		return Collections.unmodifiableList(result);
+		return result.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(result);
 	}
 
 	private static class HashTypedMeta<T, V> extends HashMap<String, V> implements TypedMeta<T, V> {
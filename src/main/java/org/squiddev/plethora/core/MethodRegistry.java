@@ -1,9 +1,12 @@
 package org.squiddev.plethora.core;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.common.config.Property;
 import org.apache.commons.lang3.tuple.Pair;
@@ -15,12 +18,30 @@ import org.squiddev.plethora.core.collections.ClassIteratorIterable;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class MethodRegistry implements IMethodRegistry {
 	public static final MethodRegistry instance = new MethodRegistry();
 
 	final Multimap<Class<?>, IMethod<?>> providers = MultimapBuilder.hashKeys().arrayListValues().build();
 
+	/**
+	 * A cache of the flattened method list for each concrete class. This is cleared whenever a new method is
+	 * registered.
+	 */
+	private final Map<Class<?>, List<IMethod<?>>> methodCache = new ConcurrentHashMap<>();
+
+	/**
+	 * The maximum number of pairing plans we'll cache before starting again.
+	 */
+	private static final int MAX_PLANS = 4096;
+
+	/**
+	 * A cache of {@link #getMethodsPaired(Context)}'s results for each context shape. This is cleared whenever a new
+	 * method is registered.
+	 */
+	private final Map<ContextShape, PairingPlan> planCache = new ConcurrentHashMap<>();
+
 	public <T> void registerMethod(@Nonnull Class<T> target, @Nonnull IMethod<T> method) {
 		Objects.requireNonNull(target, "target cannot be null");
 		Objects.requireNonNull(method, "method cannot be null");
@@ -37,6 +58,8 @@ public final class MethodRegistry implements IMethodRegistry {
 		ConfigCore.configuration.get("baseCosts", method.getId(), 0, comment, 0, Integer.MAX_VALUE);
 
 		providers.put(target, method);
+		methodCache.clear();
+		planCache.clear();
 
 		if (target == Object.class && !(method instanceof IConverterExcludeMethod)) {
 			PlethoraCore.LOG.warn(
@@ -67,13 +90,19 @@ public final class MethodRegistry implements IMethodRegistry {
 	public List<IMethod<?>> getMethods(@Nonnull Class<?> target) {
 		Objects.requireNonNull(target, "target cannot be null");
 
+		List<IMethod<?>> result = methodCache.get(target);
+		if (result == null) methodCache.put(target, result = buildMethods(target));
+		return result;
+	}
+
+	private List<IMethod<?>> buildMethods(@Nonnull Class<?> target) {
 		List<IMethod<?>> result = Lists.newArrayList();
 
 		for (Class<?> klass : new ClassIteratorIterable(target)) {
 			result.addAll(providers.get(klass));
 		}
 
-		return Collections.unmodifiableList(result);
+		return result.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(result);
 	}
 
 	@Nonnull
@@ -96,8 +125,25 @@ public final class MethodRegistry implements IMethodRegistry {
 	}
 
 	public Pair<List<IMethod<?>>, List<UnbakedContext<?>>> getMethodsPaired(Context<?> builder) {
+		ContextShape shape = new ContextShape(builder);
+		PairingPlan plan = planCache.get(shape);
+		if (plan != null && plan != PairingPlan.UNCACHEABLE) return plan.apply(builder);
+
+		PairingPlan.Builder planBuilder = plan == null ? new PairingPlan.Builder() : null;
+		Pair<List<IMethod<?>>, List<UnbakedContext<?>>> result = buildMethodsPaired(builder, planBuilder);
+
+		if (planBuilder != null) {
+			if (planCache.size() >= MAX_PLANS) planCache.clear();
+			planCache.put(shape.freeze(), planBuilder.build(result.getLeft()));
+		}
+
+		return result;
+	}
+
+	private Pair<List<IMethod<?>>, List<UnbakedContext<?>>> buildMethodsPaired(Context<?> builder, @Nullable PairingPlan.Builder plan) {
 		ArrayList<IMethod<?>> methods = Lists.newArrayList();
 		ArrayList<UnbakedContext<?>> contexts = Lists.newArrayList();
+		IntArrayList slots = new IntArrayList();
 		HashMap<String, Integer> methodLookup = new HashMap<>();
 
 		String[] keys = builder.keys;
@@ -106,11 +152,15 @@ public final class MethodRegistry implements IMethodRegistry {
 		for (int i = values.length - 1; i >= 0; i--) {
 			if (!ContextKeys.TARGET.equals(keys[i])) continue;
 
+			Context<?> context = builder.withIndex(i);
 			UnbakedContext<?> unbaked = null;
-			for (IMethod method : getMethods(builder.withIndex(i))) {
+			for (IMethod method : getMethods(values[i].getClass())) {
 				// Skip IConverterExclude methods
 				if (i != builder.target && method instanceof IConverterExcludeMethod) continue;
 
+				if (plan != null && !method.isShapeOnly()) plan.cacheable = false;
+				if (!method.canApply(context)) continue;
+
 				if (unbaked == null) unbaked = builder.unbake().withIndex(i);
 
 				Integer existing = methodLookup.get(method.getName());
@@ -119,35 +169,159 @@ public final class MethodRegistry implements IMethodRegistry {
 					if (method.getPriority() > methods.get(index).getPriority()) {
 						methods.set(index, method);
 						contexts.set(index, unbaked);
+						slots.set(index, i);
 					}
 				} else {
 					methods.add(method);
 					contexts.add(unbaked);
+					slots.add(i);
 					methodLookup.put(method.getName(), methods.size() - 1);
 				}
 			}
 		}
 
 		if (!methods.isEmpty()) {
-			IMethodCollection collection = new MethodCollection(methods);
+			MethodCollection collection = new MethodCollection(methods);
 
 			Context<IMethodCollection> baked = builder.makeChildId(collection);
-			for (IMethod method : getMethods(baked)) {
+			for (IMethod method : getMethods(MethodCollection.class)) {
+				if (plan != null && !method.isShapeOnly()) plan.cacheable = false;
+				if (!method.canApply(baked)) continue;
+
 				Integer existing = methodLookup.get(method.getName());
 				if (existing != null) {
 					int index = existing;
 					if (method.getPriority() > methods.get(index).getPriority()) {
 						methods.set(index, method);
 						contexts.set(index, baked.unbake());
+						slots.set(index, PairingPlan.COLLECTION);
 					}
 				} else {
 					methods.add(method);
 					contexts.add(baked.unbake());
+					slots.add(PairingPlan.COLLECTION);
 					methodLookup.put(method.getName(), methods.size() - 1);
 				}
 			}
+
+			if (plan != null) plan.collection = collection;
 		}
 
+		if (plan != null) plan.slots = slots.toIntArray();
 		return Pair.of(methods, contexts);
 	}
+
+	/**
+	 * The "shape" of a context: its keys, the class of each value, which value is the target and the available
+	 * modules.
+	 *
+	 * @see IMethod#isShapeOnly()
+	 */
+	private static final class ContextShape {
+		private final int target;
+		private final String[] keys;
+		private final Class<?>[] classes;
+		private final Set<ResourceLocation> modules;
+		private final int hash;
+
+		private ContextShape(int target, String[] keys, Class<?>[] classes, Set<ResourceLocation> modules, int hash) {
+			this.target = target;
+			this.keys = keys;
+			this.classes = classes;
+			this.modules = modules;
+			this.hash = hash;
+		}
+
+		ContextShape(Context<?> context) {
+			target = context.target;
+			keys = context.keys;
+			modules = context.modules.getModules();
+
+			Object[] values = context.values;
+			classes = new Class<?>[values.length];
+			for (int i = 0; i < values.length; i++) classes[i] = values[i].getClass();
+
+			hash = 31 * (31 * (31 * target + Arrays.hashCode(keys)) + Arrays.hashCode(classes)) + modules.hashCode();
+		}
+
+		/**
+		 * Create a copy of this shape which is safe to store, as the context's module set may be a live view.
+		 *
+		 * @return The frozen shape.
+		 */
+		ContextShape freeze() {
+			return new ContextShape(target, keys, classes, ImmutableSet.copyOf(modules), hash);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof ContextShape)) return false;
+
+			ContextShape other = (ContextShape) o;
+			return hash == other.hash && target == other.target
+				&& Arrays.equals(keys, other.keys) && Arrays.equals(classes, other.classes)
+				&& modules.equals(other.modules);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * A cached result of {@link #getMethodsPaired(Context)} for a given {@link ContextShape}.
+	 *
+	 * This stores the methods and the index of the target each one was bound to, and so can be reapplied to another
+	 * context of the same shape without checking {@link IMethod#canApply(IPartialContext)} again.
+	 */
+	private static final class PairingPlan {
+		static final int COLLECTION = -1;
+
+		/**
+		 * Used for shapes with at least one method which is not {@link IMethod#isShapeOnly()}.
+		 */
+		static final PairingPlan UNCACHEABLE = new PairingPlan(Collections.emptyList(), new int[0], null);
+
+		private final List<IMethod<?>> methods;
+		private final int[] slots;
+		private final MethodCollection collection;
+
+		private PairingPlan(List<IMethod<?>> methods, int[] slots, MethodCollection collection) {
+			this.methods = methods;
+			this.slots = slots;
+			this.collection = collection;
+		}
+
+		Pair<List<IMethod<?>>, List<UnbakedContext<?>>> apply(Context<?> builder) {
+			UnbakedContext<?>[] targets = new UnbakedContext<?>[builder.keys.length];
+			UnbakedContext<?> collectionContext = null;
+
+			List<UnbakedContext<?>> contexts = new ArrayList<>(slots.length);
+			for (int slot : slots) {
+				if (slot == COLLECTION) {
+					if (collectionContext == null) collectionContext = builder.makeChildId(collection).unbake();
+					contexts.add(collectionContext);
+				} else {
+					UnbakedContext<?> context = targets[slot];
+					if (context == null) targets[slot] = context = builder.unbake().withIndex(slot);
+					contexts.add(context);
+				}
+			}
+
+			return Pair.of(methods, contexts);
+		}
+
+		static final class Builder {
+			boolean cacheable = true;
+			int[] slots;
+			MethodCollection collection;
+
+			PairingPlan build(List<IMethod<?>> methods) {
+				if (!cacheable) return UNCACHEABLE;
+				return new PairingPlan(Collections.unmodifiableList(new ArrayList<>(methods)), slots, collection);
+			}
+		}
+	}
 }
@@ -171,6 +171,12 @@ public class PartialContext<T> implements IPartialContext<T> {
 	@Nonnull
 	@Override
 	public TypedMeta<T, ?> getMeta() {
-		return MetaRegistry.instance.getMeta(this);
+		return MetaRegistry.instance.getMeta(this, null);
+	}
+
+	@Nonnull
+	@Override
+	public TypedMeta<T, ?> getMeta(@Nullable Set<String> filter) {
+		return MetaRegistry.instance.getMeta(this, filter);
 	}
 }
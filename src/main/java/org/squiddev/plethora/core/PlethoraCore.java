@@ -30,6 +30,7 @@ import org.squiddev.plethora.gameplay.Plethora;
 import org.squiddev.plethora.integration.vanilla.IntegrationVanilla;
 import org.squiddev.plethora.utils.Helpers;
 
+import java.io.File;
 import java.util.Objects;
 
 import static org.squiddev.plethora.core.PlethoraCore.*;
@@ -46,6 +47,7 @@ public class PlethoraCore {
 	public static final Logger LOG = LogManager.getLogger(ID);
 
 	private ASMDataTable asmData;
+	private File indexFile;
 
 	@Mod.EventHandler
 	public void preInit(FMLPreInitializationEvent event) {
@@ -53,6 +55,7 @@ public class PlethoraCore {
 		ConfigCore.init(event.getSuggestedConfigurationFile());
 
 		asmData = event.getAsmData();
+		indexFile = new File(event.getModConfigurationDirectory(), ID + ".index");
 
 		// Register capabilities
 		CapabilityManager.INSTANCE.register(ICostHandler.class, new DefaultStorage<>(), DefaultCostHandler::new);
@@ -80,8 +83,10 @@ public class PlethoraCore {
 		// Load various objects from annotations
 		long start = System.currentTimeMillis();
 
+		RegistrationIndex.instance.load(indexFile, asmData);
 		Registry.register(asmData);
 		PlethoraMethodRegistry.loadAsm(asmData);
+		RegistrationIndex.instance.save();
 
 		long finish = System.currentTimeMillis();
 
@@ -138,7 +143,8 @@ public class PlethoraCore {
 	@SubscribeEvent
 	public static void onServerTick(TickEvent.ServerTickEvent event) {
 		if (event.phase == TickEvent.Phase.START) {
-			DefaultCostHandler.update();
+			DefaultCostHandler.tick();
+			MetaRegistry.instance.tick();
 			TaskRunner.SHARED.update();
 		}
 	}
@@ -0,0 +1,208 @@
+package org.squiddev.plethora.core;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.discovery.ASMDataTable;
+import org.squiddev.plethora.api.Injects;
+import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.squiddev.plethora.core.PlethoraCore.LOG;
+
+/**
+ * A persistent index of the results of processing {@link Injects} and {@link PlethoraMethod} annotations, such as
+ * resolved generic types and method signatures.
+ *
+ * The index is keyed on the set of loaded mods and their versions, the jars providing annotated classes, and the
+ * provider blacklist. If any of these change, the index is discarded and rebuilt. Only successful registrations are
+ * stored, so any errors will continue to be reported on every start.
+ */
+public final class RegistrationIndex {
+	public static final RegistrationIndex instance = new RegistrationIndex();
+
+	private static final int VERSION = 1;
+
+	private File file;
+	private String key;
+	private NBTTagCompound previous;
+	private NBTTagCompound current;
+	private boolean dirty;
+
+	private RegistrationIndex() {
+	}
+
+	/**
+	 * Load the index from disk. Until this is called, the index is empty and nothing will be saved.
+	 *
+	 * The index is not used (and so not saved) if it has been disabled, or if any annotated class was loaded from a
+	 * directory rather than a jar, as we have no cheap way to detect that such classes have changed.
+	 *
+	 * @param file    The file to load the index from.
+	 * @param asmData The annotation data, used to find which files provide annotated classes.
+	 */
+	void load(@Nonnull File file, @Nonnull ASMDataTable asmData) {
+		this.file = null;
+		previous = current = null;
+		if (!enabled()) return;
+
+		key = computeKey(asmData);
+		if (key == null) {
+			LOG.debug("Annotated classes are loaded from a directory, not using the registration index.");
+			return;
+		}
+
+		this.file = file;
+		current = new NBTTagCompound();
+		dirty = false;
+
+		if (!file.isFile()) {
+			dirty = true;
+			return;
+		}
+
+		try (InputStream stream = new FileInputStream(file)) {
+			NBTTagCompound tag = CompressedStreamTools.readCompressed(stream);
+			if (tag.getInteger("version") == VERSION && key.equals(tag.getString("key"))) {
+				previous = tag.getCompoundTag("entries");
+			} else {
+				LOG.debug("Registration index is out of date, rebuilding.");
+			}
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Cannot read registration index {}, rebuilding.", file, e);
+		}
+
+		if (previous == null) dirty = true;
+	}
+
+	/**
+	 * Write the index to disk, if it has changed since it was loaded. Entries which were not used during this load are
+	 * discarded.
+	 */
+	void save() {
+		if (file == null) return;
+
+		// If any previous entry was not used, then we'll need to remove it.
+		if (previous != null && !previous.getKeySet().isEmpty()) dirty = true;
+
+		if (dirty) {
+			NBTTagCompound tag = new NBTTagCompound();
+			tag.setInteger("version", VERSION);
+			tag.setString("key", key);
+			tag.setTag("entries", current);
+
+			try (OutputStream stream = new FileOutputStream(file)) {
+				CompressedStreamTools.writeCompressed(tag, stream);
+			} catch (IOException e) {
+				LOG.warn("Cannot write registration index {}", file, e);
+			}
+		}
+
+		file = null;
+		key = null;
+		previous = current = null;
+	}
+
+	/**
+	 * Get a previously stored entry. Any returned entry will be kept when the index is next saved.
+	 *
+	 * @param kind The kind of entry, such as {@code "injects"}.
+	 * @param name The name of the entry.
+	 * @return The stored entry, or {@code null} if none is available.
+	 */
+	@Nullable
+	public NBTTagCompound get(@Nonnull String kind, @Nonnull String name) {
+		if (previous == null || !enabled()) return null;
+
+		NBTTagCompound entries = previous.getCompoundTag(kind);
+		if (!entries.hasKey(name, Constants.NBT.TAG_COMPOUND)) return null;
+
+		NBTTagCompound entry = entries.getCompoundTag(name);
+		entries.removeTag(name);
+		if (entries.isEmpty()) previous.removeTag(kind);
+
+		getEntries(kind).setTag(name, entry);
+		return entry;
+	}
+
+	/**
+	 * Store an entry, to be reused on the next start.
+	 *
+	 * @param kind  The kind of entry, such as {@code "injects"}.
+	 * @param name  The name of the entry.
+	 * @param entry The entry to store.
+	 */
+	public void put(@Nonnull String kind, @Nonnull String name, @Nonnull NBTTagCompound entry) {
+		if (current == null || !enabled()) return;
+
+		NBTTagCompound entries = getEntries(kind);
+		if (entry.equals(entries.getTag(name))) return;
+
+		entries.setTag(name, entry);
+		dirty = true;
+	}
+
+	/**
+	 * Mark a previously fetched entry as invalid, for instance if a class it refers to no longer exists.
+	 *
+	 * @param kind The kind of entry.
+	 * @param name The name of the entry.
+	 */
+	public void invalidate(@Nonnull String kind, @Nonnull String name) {
+		if (current == null) return;
+
+		NBTTagCompound entries = current.getCompoundTag(kind);
+		if (entries.hasKey(name)) {
+			entries.removeTag(name);
+			dirty = true;
+		}
+	}
+
+	private NBTTagCompound getEntries(String kind) {
+		if (!current.hasKey(kind, Constants.NBT.TAG_COMPOUND)) current.setTag(kind, new NBTTagCompound());
+		return current.getCompoundTag(kind);
+	}
+
+	private static boolean enabled() {
+		return ConfigCore.Testing.startupIndex && !ConfigCore.Testing.strict;
+	}
+
+	@Nullable
+	private static String computeKey(@Nonnull ASMDataTable asmData) {
+		List<ModContainer> mods = new ArrayList<>(Loader.instance().getActiveModList());
+		mods.sort(Comparator.comparing(ModContainer::getModId));
+
+		StringBuilder builder = new StringBuilder();
+		for (ModContainer mod : mods) builder.append(mod.getModId()).append('@').append(mod.getVersion()).append(';');
+
+		// Mod versions are rarely bumped during development, so also key on the files our annotations come from.
+		Set<File> sources = new TreeSet<>();
+		for (String annotation : new String[]{Injects.class.getName(), PlethoraMethod.class.getName()}) {
+			for (ASMDataTable.ASMData data : asmData.getAll(annotation)) sources.add(data.getCandidate().getModContainer());
+		}
+
+		for (File source : sources) {
+			if (!source.isFile()) return null;
+			builder.append(source.getName()).append('#').append(source.length()).append('#').append(source.lastModified()).append(';');
+		}
+
+		builder.append(ConfigCore.Blacklist.blacklistProviders).append(';');
+		builder.append(ConfigCore.Blacklist.blacklistMods);
+		return builder.toString();
+	}
+}
@@ -2,6 +2,8 @@ package org.squiddev.plethora.core;
 
 import com.google.common.base.Strings;
 import com.google.common.reflect.TypeToken;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fml.common.discovery.ASMDataTable;
 import org.squiddev.plethora.api.Injects;
 import org.squiddev.plethora.api.converter.IConverter;
@@ -12,6 +14,7 @@ import org.squiddev.plethora.api.transfer.ITransferProvider;
 import org.squiddev.plethora.core.wrapper.ArgumentTypeRegistry;
 import org.squiddev.plethora.utils.Helpers;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.*;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -25,6 +28,8 @@ final class Registry {
 	private static final Type META_IN = IMetaProvider.class.getTypeParameters()[0];
 	private static final Type ARGUMENT_TYPE_IN = ArgumentType.class.getTypeParameters()[0];
 
+	private static final String INDEX_KIND = "injects";
+
 	private Registry() {
 	}
 
@@ -49,7 +54,7 @@ final class Registry {
 					continue;
 				}
 
-				Result result = register(Class.forName(name));
+				Result result = register(Class.forName(name), modId);
 				if (result == Result.PASS) LOG.warn("@Injects class {} has no usable fields or interfaces", name);
 				if (result == Result.ERROR) ok = false;
 			} catch (Exception | LinkageError e) {
@@ -64,6 +69,17 @@ final class Registry {
 	}
 
 	static Result register(Class<?> klass) {
+		return register(klass, null);
+	}
+
+	/**
+	 * Register a class annotated with {@link Injects}.
+	 *
+	 * @param klass     The class to register.
+	 * @param namespace The mod id this class was injected for, or {@code null} if it does not depend on a mod.
+	 * @return The result of registering this class.
+	 */
+	static Result register(Class<?> klass, @Nullable String namespace) {
 		// Skip blacklisted classes
 		String name = klass.getName();
 		if (Helpers.blacklisted(ConfigCore.Blacklist.blacklistProviders, name)) {
@@ -82,7 +98,7 @@ final class Registry {
 			LOG.warn("@Injects class {} should be public final, but is only {}", name, Modifier.toString(modifiers));
 		}
 
-		Result result = registerInstance(name, klass, klass, klass, () -> {
+		Result result = registerInstance(name, namespace, klass, klass, klass, () -> {
 			Object value;
 			try {
 				value = klass.newInstance();
@@ -95,12 +111,12 @@ final class Registry {
 			return value;
 		});
 
-		for (Field field : klass.getDeclaredFields()) result = result.plus(register(field));
+		for (Field field : klass.getDeclaredFields()) result = result.plus(register(field, namespace));
 
 		return result;
 	}
 
-	private static Result register(Field field) {
+	private static Result register(Field field, @Nullable String namespace) {
 		// Skip blacklisted fields.
 		String name = field.getDeclaringClass().getName() + "." + field.getName();
 		if (Helpers.blacklisted(ConfigCore.Blacklist.blacklistProviders, name)) {
@@ -108,7 +124,7 @@ final class Registry {
 			return Result.OK;
 		}
 
-		return registerInstance(name, field, field.getType(), field.getGenericType(), () -> {
+		return registerInstance(name, namespace, field, field.getType(), field.getGenericType(), () -> {
 			// Verify this is a "public static final" field. We do this inside the getter as it means we don't warn on
 			// fields which don't look like ours.
 			int modifiers = field.getModifiers();
@@ -134,14 +150,15 @@ final class Registry {
 		});
 	}
 
-	@SuppressWarnings({"unchecked", "UnstableApiUsage"})
-	private static Result registerInstance(String name, AnnotatedElement element, Class<?> rawType, Type type, Supplier<?> instanceGetter) {
+	@SuppressWarnings("unchecked")
+	private static Result registerInstance(String name, @Nullable String namespace, AnnotatedElement element, Class<?> rawType, Type type, Supplier<?> instanceGetter) {
 		Object instance = null;
+		NBTTagCompound cached = RegistrationIndex.instance.get(INDEX_KIND, name);
+		NBTTagCompound resolved = new NBTTagCompound();
 
 		// Register ITransferProviders
 		if (ITransferProvider.class.isAssignableFrom(rawType)) {
-			Type typeParameter = TypeToken.of(type).resolveType(TRANSFER_IN).getType();
-			Class<?> target = getRawType(name, typeParameter, typeParameter);
+			Class<?> target = getTarget(name, type, TRANSFER_IN, "transfer", cached, resolved);
 			if (target == null) return Result.ERROR;
 
 			if (instance == null) instance = instanceGetter.get();
@@ -158,8 +175,7 @@ final class Registry {
 
 		// Register IConverters
 		if (IConverter.class.isAssignableFrom(rawType)) {
-			Type typeParameter = TypeToken.of(type).resolveType(CONVERTER_IN).getType();
-			Class<?> klass = getRawType(name, typeParameter, typeParameter);
+			Class<?> klass = getTarget(name, type, CONVERTER_IN, "converter", cached, resolved);
 			if (klass == null) return Result.ERROR;
 
 			if (instance == null) instance = instanceGetter.get();
@@ -170,8 +186,7 @@ final class Registry {
 
 		// Register IMethod
 		if (IMethod.class.isAssignableFrom(rawType)) {
-			Type typeParameter = TypeToken.of(type).resolveType(METHOD_IN).getType();
-			Class<?> klass = getRawType(name, typeParameter, typeParameter);
+			Class<?> klass = getTarget(name, type, METHOD_IN, "method", cached, resolved);
 			if (klass == null) return Result.ERROR;
 
 			if (instance == null) instance = instanceGetter.get();
@@ -182,20 +197,18 @@ final class Registry {
 
 		// Register IMetaProvider
 		if (IMetaProvider.class.isAssignableFrom(rawType)) {
-			Type typeParameter = TypeToken.of(type).resolveType(META_IN).getType();
-			Class<?> klass = getRawType(name, typeParameter, typeParameter);
+			Class<?> klass = getTarget(name, type, META_IN, "meta", cached, resolved);
 			if (klass == null) return Result.ERROR;
 
 			if (instance == null) instance = instanceGetter.get();
 			if (instance == null) return Result.ERROR;
 
-			MetaRegistry.instance.registerMetaProvider(klass, (IMetaProvider) instance, name);
+			MetaRegistry.instance.registerMetaProvider(klass, (IMetaProvider) instance, name, namespace);
 		}
 
 		// Register ArgumentType
 		if (ArgumentType.class.isAssignableFrom(rawType)) {
-			Type typeParameter = TypeToken.of(type).resolveType(ARGUMENT_TYPE_IN).getType();
-			Class<?> klass = getRawType(name, typeParameter, typeParameter);
+			Class<?> klass = getTarget(name, type, ARGUMENT_TYPE_IN, "argument", cached, resolved);
 			if (klass == null) return Result.ERROR;
 
 			if (!(element instanceof Field)) {
@@ -210,9 +223,40 @@ final class Registry {
 			if (!ArgumentTypeRegistry.register(klass, (Field) element)) return Result.ERROR;
 		}
 
+		if (!resolved.isEmpty()) RegistrationIndex.instance.put(INDEX_KIND, name, resolved);
 		return instance == null ? Result.PASS : Result.OK;
 	}
 
+	/**
+	 * Get the class an {@link Injects} element targets, using the {@link RegistrationIndex} where possible.
+	 *
+	 * @param name     The name of the element being registered.
+	 * @param type     The generic type of this element.
+	 * @param variable The type variable to resolve.
+	 * @param kind     The kind of registration, used as the key within the index.
+	 * @param cached   The previously indexed targets for this element.
+	 * @param resolved The targets we have resolved for this element.
+	 * @return The target class, or {@code null} if it could not be resolved.
+	 */
+	@Nullable
+	@SuppressWarnings("UnstableApiUsage")
+	private static Class<?> getTarget(String name, Type type, Type variable, String kind, @Nullable NBTTagCompound cached, NBTTagCompound resolved) {
+		if (cached != null && cached.hasKey(kind, Constants.NBT.TAG_STRING)) {
+			try {
+				Class<?> target = Class.forName(cached.getString(kind), false, Registry.class.getClassLoader());
+				resolved.setString(kind, target.getName());
+				return target;
+			} catch (ClassNotFoundException | LinkageError e) {
+				LOG.debug("Cannot load indexed target for {}, resolving it again", name, e);
+			}
+		}
+
+		Type typeParameter = TypeToken.of(type).resolveType(variable).getType();
+		Class<?> target = getRawType(name, typeParameter, typeParameter);
+		if (target != null) resolved.setString(kind, target.getName());
+		return target;
+	}
+
 	private static Class<?> getRawType(String name, Type root, Type underlying) {
 		while (true) {
 			if (underlying instanceof Class<?>) return (Class<?>) underlying;
@@ -10,11 +10,15 @@ import org.squiddev.plethora.core.PlethoraCore;
 
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.squiddev.plethora.core.ConfigCore.CostSystem;
 
 /**
- * A basic {@link ICostHandler} implementation. Every object registered with it is updated every tick.
+ * A basic {@link ICostHandler} implementation.
+ *
+ * Rather than updating every handler each tick, we store the energy level along with the tick it was last observed
+ * at, and compute the regenerated value whenever it is next queried.
  *
  * @see PlethoraCore#onServerTick(TickEvent.ServerTickEvent)
  */
@@ -27,7 +31,12 @@ public final class DefaultCostHandler implements ICostHandler {
 	 */
 	private static final Map<Object, DefaultCostHandler> handlers = new MapMaker().weakKeys().makeMap();
 
-	private double value;
+	/**
+	 * The current server tick, advanced by {@link #tick()}.
+	 */
+	private static volatile long currentTick;
+
+	private final AtomicReference<State> state;
 	private final double regenRate;
 	private final double limit;
 	private final boolean allowNegative;
@@ -38,6 +47,7 @@ public final class DefaultCostHandler implements ICostHandler {
 		Preconditions.checkArgument(regenRate >= 0, "regenRate must be > 0");
 		Preconditions.checkArgument(limit >= 0, "limit must be >= 0");
 
+		state = new AtomicReference<>(new State(Math.min(initial, limit), currentTick));
 		this.regenRate = regenRate;
 		this.limit = limit;
 		this.allowNegative = allowNegative;
@@ -49,22 +59,27 @@ public final class DefaultCostHandler implements ICostHandler {
 	}
 
 	@Override
-	public synchronized double get() {
-		return value;
+	public double get() {
+		return valueAt(state.get(), currentTick);
 	}
 
 	@Override
-	public synchronized boolean consume(double amount) {
+	public boolean consume(double amount) {
 		Preconditions.checkArgument(amount >= 0, "amount must be >= 0");
 
-		if (allowNegative) {
-			if (value <= 0) return false;
-		} else {
-			if (amount > value) return false;
-		}
+		while (true) {
+			State current = state.get();
+			long tick = currentTick;
+			double value = valueAt(current, tick);
 
-		value -= amount;
-		return true;
+			if (allowNegative) {
+				if (value <= 0) return false;
+			} else {
+				if (amount > value) return false;
+			}
+
+			if (state.compareAndSet(current, new State(value - amount, tick))) return true;
+		}
 	}
 
 	@Override
@@ -74,10 +89,10 @@ public final class DefaultCostHandler implements ICostHandler {
 
 		// Otherwise if we'll never be able to consume then give up.
 		if ((!allowNegative && amount > limit) || !allowAwait) {
-			throw new LuaException("Insufficient energy (requires " + amount + ", has " + value + ".");
+			throw new LuaException("Insufficient energy (requires " + amount + ", has " + get() + ".");
 		}
 
-		return MethodResult.awaiting(() -> consume(amount), () -> next);
+		return MethodResult.awaiting(new AwaitResolver(amount), () -> next);
 	}
 
 	@Override
@@ -96,14 +111,35 @@ public final class DefaultCostHandler implements ICostHandler {
 
 		// Otherwise if we'll never be able to consume then give up.
 		if ((!allowNegative && amount > limit) || !allowAwait) {
-			throw new LuaException("Insufficient energy (requires " + amount + ", has " + value + ".");
+			throw new LuaException("Insufficient energy (requires " + amount + ", has " + get() + ".");
 		}
 
-		return MethodResult.awaiting(() -> consume(amount), next);
+		return MethodResult.awaiting(new AwaitResolver(amount), next);
 	}
 
-	private synchronized void regen() {
-		if (value < limit) value = Math.min(limit, value + regenRate);
+	private double valueAt(State state, long tick) {
+		double value = state.value;
+		if (value >= limit || tick <= state.tick) return value;
+		return Math.min(limit, value + regenRate * (tick - state.tick));
+	}
+
+	/**
+	 * Get the first tick at which {@link #consume(double)} may succeed.
+	 *
+	 * @param amount The amount to consume
+	 * @return The tick at which we'll have sufficient energy, or {@link Long#MAX_VALUE} if we never will.
+	 */
+	private long getDueTick(double amount) {
+		State current = state.get();
+		long tick = currentTick;
+		double value = valueAt(current, tick);
+
+		double required = allowNegative ? -value : amount - value;
+		if (allowNegative ? value > 0 : required <= 0) return tick;
+		if (regenRate <= 0) return Long.MAX_VALUE;
+
+		double ticks = required / regenRate;
+		return tick + (allowNegative ? (long) Math.floor(ticks) + 1 : (long) Math.ceil(ticks));
 	}
 
 	public static ICostHandler get(Object owner) {
@@ -118,12 +154,11 @@ public final class DefaultCostHandler implements ICostHandler {
 		}
 	}
 
-	public static void update() {
-		synchronized (handlers) {
-			for (DefaultCostHandler handler : handlers.values()) {
-				handler.regen();
-			}
-		}
+	/**
+	 * Advance the current tick. Handlers will regenerate the next time they are queried.
+	 */
+	public static void tick() {
+		currentTick++;
 	}
 
 	public static void reset() {
@@ -131,4 +166,41 @@ public final class DefaultCostHandler implements ICostHandler {
 			handlers.clear();
 		}
 	}
+
+	private static final class State {
+		final double value;
+		final long tick;
+
+		State(double value, long tick) {
+			this.value = value;
+			this.tick = tick;
+		}
+	}
+
+	/**
+	 * Waits until the handler should have sufficient energy, and then attempts to consume it.
+	 */
+	private final class AwaitResolver implements MethodResult.Resolver {
+		private final double amount;
+		private long due = Long.MIN_VALUE;
+
+		AwaitResolver(double amount) {
+			this.amount = amount;
+		}
+
+		@Override
+		public boolean update() {
+			if (currentTick < due) return false;
+			if (consume(amount)) return true;
+
+			due = getDueTick(amount);
+			return false;
+		}
+
+		@Override
+		public int getSleep() {
+			long sleep = due - currentTick - 1;
+			return sleep <= 0 ? 0 : (int) Math.min(sleep, Integer.MAX_VALUE);
+		}
+	}
 }
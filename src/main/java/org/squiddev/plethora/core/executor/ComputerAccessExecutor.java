@@ -107,6 +107,11 @@ public class ComputerAccessExecutor implements IResultExecutor {
 			}
 		}
 
+		@Override
+		Object getOwner() {
+			return executor.access.getID();
+		}
+
 		@Override
 		boolean canWork() {
 			return monitor == null || monitor.shouldWork();
@@ -118,6 +123,11 @@ public class ComputerAccessExecutor implements IResultExecutor {
 			monitor.trackWork(time, TimeUnit.NANOSECONDS);
 		}
 
+		@Override
+		boolean isCancelled() {
+			return !executor.attached || super.isCancelled();
+		}
+
 		@Override
 		public boolean update() {
 			if (!executor.attached) {
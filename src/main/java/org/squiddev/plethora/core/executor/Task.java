@@ -73,6 +73,16 @@ public class Task {
 		return done;
 	}
 
+	/**
+	 * Get how many ticks this task may sleep for, after {@link #update()} returned {@code false}.
+	 *
+	 * @return The number of ticks to skip.
+	 * @see MethodResult.Resolver#getSleep()
+	 */
+	int getSleep() {
+		return done || resolved ? 0 : resolver.getSleep();
+	}
+
 	final void cancel() {
 		done = true;
 	}
@@ -81,6 +91,27 @@ public class Task {
 		return done;
 	}
 
+	/**
+	 * Determine whether this task should be dropped without running it any further, such as when the computer which
+	 * submitted it is no longer attached.
+	 *
+	 * @return If this task has been cancelled.
+	 */
+	boolean isCancelled() {
+		return done;
+	}
+
+	/**
+	 * Get the owner of this task. Tasks with the same owner share a queue within the {@link TaskRunner}, and so will
+	 * be executed fairly with respect to tasks from other owners.
+	 *
+	 * @return This task's owner, or {@code null} if it has none.
+	 */
+	@Nullable
+	Object getOwner() {
+		return null;
+	}
+
 	/**
 	 * Finalise the task (fire events, etc...)
 	 */
@@ -1,11 +1,15 @@
 package org.squiddev.plethora.core.executor;
 
 import net.minecraft.util.ITickable;
+import org.squiddev.plethora.api.method.MethodResult;
+import org.squiddev.plethora.core.ConfigCore;
 
-import java.util.Collections;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * This is a system capable of running a series of {@link Task}s.
@@ -14,31 +18,241 @@ import java.util.concurrent.ConcurrentHashMap;
  * {@link #SHARED} instance. One should prefer the former, as this ensures execution is associated with that tile
  * (which is helpful for profiling and Forge tracking). However this is not always feasible (such as when you do not
  * have control over the object you are wrapping).
+ *
+ * Tasks are grouped into queues by their {@link Task#getOwner() owner}, and each tick we run one task from each owner
+ * in turn until every task has been visited or we exceed {@link ConfigCore.Executor#tickBudget}. The position in this
+ * rotation is preserved across ticks, so owners which missed out on one tick will be serviced first on the next.
+ *
+ * Tasks whose resolver asks to {@link MethodResult.Resolver#getSleep() sleep} are moved out of the rotation until they
+ * are due, so waiting tasks cost almost nothing per tick. Sleeping tasks which have been
+ * {@link Task#isCancelled() cancelled} (for instance, because their computer detached) are dropped on the next tick,
+ * so they do not count towards the task limit. Long sleeps are also broken up into chunks of at most
+ * {@link #MAX_SLEEP} ticks, though the task is not polled until its full sleep has elapsed.
  */
 public class TaskRunner implements ITickable {
 	public static final TaskRunner SHARED = new TaskRunner();
 
 	private static final int MAX_TASKS_TOTAL = 5000;
-	private static final int MAX_TASKS_TICK = 50;
 
-	private final Set<Task> tasks = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	/**
+	 * The maximum number of ticks a task may stay in the sleeping queue before we check on it again.
+	 */
+	static final int MAX_SLEEP = 20;
+
+	/**
+	 * The owner used for tasks which do not provide one.
+	 */
+	private static final Object NO_OWNER = new Object();
+
+	/**
+	 * All owners with at least one ready task, in the order they will be serviced.
+	 */
+	private final ArrayDeque<OwnerQueue> rotation = new ArrayDeque<>();
+	private final Map<Object, OwnerQueue> owners = new HashMap<>();
+
+	/**
+	 * Tasks which are sleeping, ordered by the tick they should be woken on.
+	 */
+	private final PriorityQueue<SleepingTask> sleeping = new PriorityQueue<>();
+
+	private long tick;
+	private int size;
 
 	@Override
 	public void update() {
-		Iterator<Task> tasks = this.tasks.iterator();
+		long deadline = System.nanoTime() + ConfigCore.Executor.tickBudget * 1000L;
+
+		// Only visit each task at most once a tick. Anything submitted during this tick will be picked up on the next.
+		int remaining;
+		synchronized (this) {
+			tick++;
+			dropCancelled();
+			wakeTasks();
+			remaining = size - sleeping.size();
+		}
+
+		while (remaining-- > 0) {
+			OwnerQueue queue;
+			Task task;
+			synchronized (this) {
+				queue = rotation.poll();
+				if (queue == null) return;
+
+				task = queue.tasks.poll();
+				if (task == null) {
+					queue.scheduled = false;
+					if (queue.sleeping == 0) owners.remove(queue.owner);
+					continue;
+				}
+
+				size--;
+			}
+
+			boolean done = task.update();
+			int sleep = done ? 0 : task.getSleep();
+
+			synchronized (this) {
+				// If the queue was reset while running then just drop everything.
+				if (owners.get(queue.owner) != queue) return;
+
+				if (!done) {
+					if (sleep > 0) {
+						// Skip the next "sleep" ticks, waking on the one after.
+						sleep(new SleepingTask(queue, task, tick + sleep + 1));
+						queue.sleeping++;
+					} else {
+						queue.tasks.add(task);
+					}
+
+					size++;
+				}
+
+				if (!queue.tasks.isEmpty()) {
+					rotation.add(queue);
+				} else {
+					queue.scheduled = false;
+					if (queue.sleeping == 0) owners.remove(queue.owner);
+				}
+			}
+
+			if (System.nanoTime() >= deadline) return;
+		}
+	}
+
+	private void dropCancelled() {
+		Iterator<SleepingTask> iterator = sleeping.iterator();
+		while (iterator.hasNext()) {
+			SleepingTask next = iterator.next();
+			if (!next.task.isCancelled()) continue;
+
+			iterator.remove();
+			next.task.cancel();
+			size--;
+
+			OwnerQueue queue = next.queue;
+			queue.sleeping--;
+			if (queue.sleeping == 0 && !queue.scheduled) owners.remove(queue.owner);
+		}
+	}
+
+	private void wakeTasks() {
+		while (true) {
+			SleepingTask next = sleeping.peek();
+			if (next == null || next.wake > tick) return;
+			sleeping.remove();
+
+			// The task may not be polled before its full sleep has elapsed, so just put it back to sleep.
+			if (next.due > tick) {
+				sleep(next);
+				continue;
+			}
 
-		int i = 0;
-		while (tasks.hasNext()) {
-			if (tasks.next().update()) tasks.remove();
-			if (i++ > MAX_TASKS_TICK) break;
+			OwnerQueue queue = next.queue;
+			queue.sleeping--;
+			queue.tasks.add(next.task);
+			if (!queue.scheduled) {
+				queue.scheduled = true;
+				rotation.add(queue);
+			}
 		}
 	}
 
+	private void sleep(SleepingTask task) {
+		task.wake = Math.min(task.due, tick + MAX_SLEEP);
+		sleeping.add(task);
+	}
+
 	boolean submit(Task task) {
-		return tasks.size() <= MAX_TASKS_TOTAL && tasks.add(task);
+		Object owner = task.getOwner();
+		if (owner == null) owner = NO_OWNER;
+
+		synchronized (this) {
+			if (size > MAX_TASKS_TOTAL) return false;
+
+			OwnerQueue queue = owners.get(owner);
+			if (queue == null) owners.put(owner, queue = new OwnerQueue(owner));
+
+			queue.tasks.add(task);
+			size++;
+
+			if (!queue.scheduled) {
+				queue.scheduled = true;
+				rotation.add(queue);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Get the number of pending tasks for a given owner. This includes tasks which are sleeping.
+	 *
+	 * @param owner The owner to check. {@code null} will return the number of tasks without an owner.
+	 * @return The number of pending tasks.
+	 * @see Task#getOwner()
+	 */
+	public synchronized int getQueueDepth(@Nullable Object owner) {
+		OwnerQueue queue = owners.get(owner == null ? NO_OWNER : owner);
+		return queue == null ? 0 : queue.tasks.size() + queue.sleeping;
 	}
 
-	public void reset() {
-		tasks.clear();
+	/**
+	 * Get the total number of pending tasks. This includes tasks which are sleeping.
+	 *
+	 * @return The number of pending tasks.
+	 */
+	public synchronized int getQueueDepth() {
+		return size;
+	}
+
+	public synchronized void reset() {
+		rotation.clear();
+		owners.clear();
+		sleeping.clear();
+		size = 0;
+	}
+
+	private static final class OwnerQueue {
+		final Object owner;
+		final ArrayDeque<Task> tasks = new ArrayDeque<>();
+
+		/**
+		 * The number of tasks for this owner which are sleeping.
+		 */
+		int sleeping;
+
+		/**
+		 * Whether this queue is in the rotation, or currently being executed.
+		 */
+		boolean scheduled;
+
+		OwnerQueue(Object owner) {
+			this.owner = owner;
+		}
+	}
+
+	private static final class SleepingTask implements Comparable<SleepingTask> {
+		final OwnerQueue queue;
+		final Task task;
+		/**
+		 * The tick this task's sleep ends on.
+		 */
+		final long due;
+
+		/**
+		 * The tick this task will next be removed from the sleeping queue.
+		 */
+		long wake;
+
+		SleepingTask(OwnerQueue queue, Task task, long due) {
+			this.queue = queue;
+			this.task = task;
+			this.due = due;
+		}
+
+		@Override
+		public int compareTo(SleepingTask other) {
+			return Long.compare(wake, other.wake);
+		}
 	}
 }
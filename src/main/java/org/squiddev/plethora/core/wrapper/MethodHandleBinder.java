@@ -0,0 +1,240 @@
+package org.squiddev.plethora.core.wrapper;
+
+import com.google.common.base.Strings;
+import dan200.computercraft.api.lua.LuaException;
+import dan200.computercraft.core.apis.ArgumentHelper;
+import net.minecraft.util.ResourceLocation;
+import org.squiddev.plethora.api.method.ContextKeys;
+import org.squiddev.plethora.api.method.IContext;
+import org.squiddev.plethora.api.method.IPartialContext;
+import org.squiddev.plethora.api.method.MethodResult;
+import org.squiddev.plethora.api.method.wrapper.*;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+import static org.squiddev.plethora.core.PlethoraCore.LOG;
+
+/**
+ * An alternative to {@link MethodClassLoader}, which binds methods using {@link MethodHandle}s rather than generating
+ * a class for each one.
+ *
+ * Arguments are read using the same helpers as the generated classes, and so have identical validation and error
+ * messages. The underlying method is invoked through a single spreading method handle.
+ */
+final class MethodHandleBinder {
+	public static final MethodHandleBinder INSTANCE = new MethodHandleBinder();
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	private MethodHandleBinder() {
+	}
+
+	<T> MethodInstance.Delegate<T> build(MethodInstance<?, ?> method) {
+		try {
+			MethodInstance.Delegate<T> delegate = bind(method);
+			if (delegate == null) throw BadWrapperException.INSTANCE;
+
+			return delegate;
+		} catch (BadWrapperException e) {
+			throw e;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOG.error(
+				"Error binding method handle for {}.{}",
+				method.method.getDeclaringClass().getName(), method.method.getName(), e
+			);
+
+			throw BadWrapperException.INSTANCE;
+		}
+	}
+
+	@Nullable
+	private <T> MethodInstance.Delegate<T> bind(MethodInstance<?, ?> methodInstance) throws IllegalAccessException {
+		Method method = methodInstance.method;
+		Parameter[] parameters = method.getParameters();
+		int totalContext = methodInstance.totalContext;
+		boolean worldThread = methodInstance.worldThread;
+		Class<?> returnType = method.getReturnType();
+
+		ContextReader[] contextReaders = new ContextReader[totalContext];
+		for (int i = 0; i < totalContext; i++) contextReaders[i] = getContextReader(methodInstance, parameters[i]);
+
+		ArgumentReader[] argumentReaders;
+		if (totalContext == parameters.length - 1 && parameters[parameters.length - 1].getType() == Object[].class) {
+			// If our signature is of the form `Object[]`, then the method will do its own argument parsing.
+			argumentReaders = null;
+		} else {
+			boolean argsOk = true;
+			argumentReaders = new ArgumentReader[parameters.length - totalContext];
+			for (int i = totalContext; i < parameters.length; i++) {
+				if ((argumentReaders[i - totalContext] = getArgumentReader(parameters[i])) == null) argsOk = false;
+			}
+			if (!argsOk) return null;
+		}
+
+		MethodHandle handle = MethodHandles.publicLookup().unreflect(method)
+			.asFixedArity()
+			.asSpreader(Object[].class, parameters.length)
+			.asType(INVOKER_TYPE);
+
+		return (context, args) -> {
+			Object[] values = new Object[parameters.length];
+			if (argumentReaders == null) {
+				values[totalContext] = args;
+			} else {
+				for (int i = 0; i < argumentReaders.length; i++) values[totalContext + i] = argumentReaders[i].read(args, i);
+			}
+
+			if (worldThread) {
+				return MethodResult.nextTick(() -> invoke(handle, returnType, context.bake(), contextReaders, values));
+			} else {
+				return invoke(handle, returnType, context.safeBake(), contextReaders, values);
+			}
+		};
+	}
+
+	private static MethodResult invoke(MethodHandle handle, Class<?> returnType, IContext<?> context, ContextReader[] contextReaders, Object[] values) throws LuaException {
+		for (int i = 0; i < contextReaders.length; i++) values[i] = contextReaders[i].read(context);
+
+		Object result;
+		try {
+			result = (Object) handle.invokeExact(values);
+		} catch (LuaException | RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+
+		if (returnType == MethodResult.class) return (MethodResult) result;
+		if (returnType == void.class) return MethodResult.empty();
+		if (returnType == Object[].class) return MethodResult.result((Object[]) result);
+		return MethodResult.result(result);
+	}
+
+	@Nullable
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ArgumentReader getArgumentReader(Parameter parameter) throws IllegalAccessException {
+		Class<?> argument = parameter.getType();
+		Optional def = parameter.getAnnotation(Optional.class);
+
+		if (argument.isPrimitive()) {
+			if (argument == int.class) {
+				if (def == null) return ArgumentHelper::getInt;
+				int defInt = def.defInt();
+				return (args, i) -> ArgumentHelper.optInt(args, i, defInt);
+			} else if (argument == short.class || argument == char.class || argument == byte.class) {
+				// The generated classes rely on the JVM treating these as ints, but method handles need an exact box.
+				int defInt = def == null ? 0 : def.defInt();
+				ArgumentReader reader = def == null ? ArgumentHelper::getInt : (args, i) -> ArgumentHelper.optInt(args, i, defInt);
+				if (argument == short.class) return (args, i) -> (short) (int) (Integer) reader.read(args, i);
+				if (argument == char.class) return (args, i) -> (char) (int) (Integer) reader.read(args, i);
+				return (args, i) -> (byte) (int) (Integer) reader.read(args, i);
+			} else if (argument == boolean.class) {
+				if (def == null) return ArgumentHelper::getBoolean;
+				boolean defBool = def.defBool();
+				return (args, i) -> ArgumentHelper.optBoolean(args, i, defBool);
+			} else if (argument == long.class) {
+				if (def == null) return ArgumentHelper::getLong;
+				long defLong = def.defLong();
+				return (args, i) -> ArgumentHelper.optLong(args, i, defLong);
+			} else if (argument == double.class) {
+				if (def == null) return ArgumentHelper::getReal;
+				double defDoub = def.defDoub();
+				return (args, i) -> ArgumentHelper.optReal(args, i, defDoub);
+			} else if (argument == float.class) {
+				if (def == null) return org.squiddev.plethora.api.method.ArgumentHelper::getFloat;
+				float defFloat = (float) def.defDoub();
+				return (args, i) -> org.squiddev.plethora.api.method.ArgumentHelper.optFloat(args, i, defFloat);
+			} else {
+				Executable method = parameter.getDeclaringExecutable();
+				LOG.error(
+					"Argument {} for @PlethoraMethod {}.{} has an unknown primitive type {}.",
+					parameter.getName(), method.getDeclaringClass().getName(), method.getName(), argument
+				);
+				return null;
+			}
+		} else if (Enum.class.isAssignableFrom(argument) && argument != Enum.class) {
+			// We have a special handler for enums
+			Class<Enum> enumClass = (Class<Enum>) argument;
+			if (def == null) return (args, i) -> org.squiddev.plethora.api.method.ArgumentHelper.getEnum(args, i, enumClass);
+			return (args, i) -> org.squiddev.plethora.api.method.ArgumentHelper.optEnum(args, i, enumClass, null);
+		} else {
+			Field field = ArgumentTypeRegistry.getField(argument);
+			if (field == null) {
+				Executable method = parameter.getDeclaringExecutable();
+				LOG.error(
+					"Argument {} for @PlethoraMethod {}.{} has no obvious converter for {}.",
+					parameter.getName(), method.getDeclaringClass().getName(), method.getName(), argument
+				);
+				return null;
+			}
+
+			ArgumentType<?> type = (ArgumentType<?>) field.get(null);
+			return def == null ? type::get : type::opt;
+		}
+	}
+
+	private static ContextReader getContextReader(MethodInstance<?, ?> method, Parameter parameter) {
+		Class<?> type = parameter.getType();
+
+		// If we're an IContext, just load that directly.
+		if (type == IContext.class || type == IPartialContext.class) return context -> context;
+
+		FromTarget target = parameter.getAnnotation(FromTarget.class);
+		if (target != null) return IPartialContext::getTarget;
+
+		FromSubtarget subTarget = parameter.getAnnotation(FromSubtarget.class);
+		if (subTarget != null) {
+			String[] names = subTarget.value();
+			if (names.length == 0) {
+				// Try the origin, and then each module in turn.
+				ResourceLocation[] modules = method.modules == null ? new ResourceLocation[0] : method.modules;
+				names = new String[modules.length + 1];
+				names[0] = ContextKeys.ORIGIN;
+				for (int i = 0; i < modules.length; i++) names[i + 1] = modules[i].toString();
+			}
+
+			return getContextReader(names, type);
+		}
+
+		FromContext context = parameter.getAnnotation(FromContext.class);
+		if (context != null) {
+			String[] names = context.value();
+			if (names.length == 0 || (names.length == 1 && Strings.isNullOrEmpty(names[0]))) {
+				return ctx -> ctx.getContext(type);
+			} else {
+				return getContextReader(names, type);
+			}
+		}
+
+		throw new IllegalStateException("Fallthrough in annotation checks.");
+	}
+
+	private static ContextReader getContextReader(String[] keys, Class<?> type) {
+		// Use getContext(String, Class) until we have a success
+		return context -> {
+			for (String key : keys) {
+				Object value = context.getContext(key, type);
+				if (value != null) return value;
+			}
+
+			return null;
+		};
+	}
+
+	@FunctionalInterface
+	private interface ContextReader {
+		Object read(IContext<?> context);
+	}
+
+	@FunctionalInterface
+	private interface ArgumentReader {
+		Object read(Object[] args, int index) throws LuaException;
+	}
+}
@@ -48,7 +48,7 @@ final class MethodInstance<T, U> implements IModuleMethod<T>, ISubTargetedMethod
 		this.subtarget = subtarget;
 
 		// If strict
-		if (ConfigCore.Testing.strict) delegate = MethodClassLoader.INSTANCE.build(this);
+		if (ConfigCore.Testing.strict) delegate = build();
 	}
 
 	@Override
@@ -81,6 +81,12 @@ final class MethodInstance<T, U> implements IModuleMethod<T>, ISubTargetedMethod
 		return true;
 	}
 
+	@Override
+	public boolean isShapeOnly() {
+		// Module containers check their own modules, rather than the context's.
+		return modules == null || !IModuleContainer.class.isAssignableFrom(target);
+	}
+
 	@Nonnull
 	@Override
 	public MethodResult apply(@Nonnull IUnbakedContext<T> context, @Nonnull Object[] args) throws LuaException {
@@ -88,7 +94,7 @@ final class MethodInstance<T, U> implements IModuleMethod<T>, ISubTargetedMethod
 		if (delegate == null) {
 			synchronized (this) {
 				if ((delegate = this.delegate) == null) {
-					this.delegate = delegate = MethodClassLoader.INSTANCE.build(this);
+					this.delegate = delegate = build();
 				}
 			}
 		}
@@ -96,6 +102,10 @@ final class MethodInstance<T, U> implements IModuleMethod<T>, ISubTargetedMethod
 		return delegate.apply(context, args);
 	}
 
+	private Delegate<T> build() {
+		return ConfigCore.Testing.methodHandles ? MethodHandleBinder.INSTANCE.build(this) : MethodClassLoader.INSTANCE.build(this);
+	}
+
 	@Nonnull
 	@Override
 	public String getName() {
@@ -136,8 +146,8 @@ final class MethodInstance<T, U> implements IModuleMethod<T>, ISubTargetedMethod
 	}
 
 	static class ContextInfo {
-		private final String[] key;
-		private final Class<?> klass;
+		final String[] key;
+		final Class<?> klass;
 
 		ContextInfo(@Nullable String[] key, @Nonnull Class<?> klass) {
 			this.key = key;
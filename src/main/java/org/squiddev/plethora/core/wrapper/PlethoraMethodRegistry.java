@@ -3,7 +3,11 @@ package org.squiddev.plethora.core.wrapper;
 import com.google.common.base.Strings;
 import com.google.common.reflect.TypeToken;
 import dan200.computercraft.api.lua.ILuaObject;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.util.Constants;
 import net.minecraftforge.fml.common.discovery.ASMDataTable;
 import org.squiddev.plethora.api.method.*;
 import org.squiddev.plethora.api.method.wrapper.*;
@@ -11,6 +15,7 @@ import org.squiddev.plethora.api.module.IModuleContainer;
 import org.squiddev.plethora.core.ConfigCore;
 import org.squiddev.plethora.core.MethodRegistry;
 import org.squiddev.plethora.core.PlethoraCore;
+import org.squiddev.plethora.core.RegistrationIndex;
 import org.squiddev.plethora.core.wrapper.MethodInstance.ContextInfo;
 import org.squiddev.plethora.utils.Helpers;
 
@@ -28,6 +33,8 @@ public final class PlethoraMethodRegistry {
 
 	private static final Type PARTIAL_CONTEXT_T = IPartialContext.class.getTypeParameters()[0];
 
+	private static final String INDEX_KIND = "methods";
+
 	private PlethoraMethodRegistry() {
 	}
 
@@ -57,6 +64,47 @@ public final class PlethoraMethodRegistry {
 			for (int i = 0; i < moduleNames.length; i++) modules[i] = new ResourceLocation(moduleNames[i]);
 		}
 
+		// Resolve our targets and context, reusing the previous result where possible.
+		String key = method.getDeclaringClass().getName() + "#" + method.getName() + org.objectweb.asm.Type.getMethodDescriptor(method);
+		Signature signature = Signature.read(key, RegistrationIndex.instance.get(INDEX_KIND, key));
+		if (signature == null) {
+			signature = resolve(method, name, annotation, moduleNames, modules);
+			if (signature == null) return false;
+
+			RegistrationIndex.instance.put(INDEX_KIND, key, signature.write());
+		}
+
+		// Extract some trivial properties
+		String[] names = annotation.name();
+		if (names.length == 0) names = new String[]{method.getName()};
+
+		// Get the marker interfaces.
+		MarkerInterfaces markers = method.getAnnotation(MarkerInterfaces.class);
+		Class<?>[] markerIfaces = markers == null || markers.value().length == 0 ? null : markers.value();
+
+		MethodInstance<?, ?> instance = new MethodInstance<>(
+			method, signature.target, names[0], signature.docs,
+			annotation.worldThread(), signature.context,
+			signature.contextIndex, modules, markerIfaces,
+			signature.subTarget
+		);
+		register(signature.target, instance);
+		for (int i = 1; i < names.length; i++) register(signature.target, new RenamedMethod<>(names[i], instance));
+		return true;
+	}
+
+	/**
+	 * Extract the target, sub-target and context of a method, and validate its arguments and documentation.
+	 *
+	 * @param method      The method to resolve.
+	 * @param name        The name of this method, used for error messages.
+	 * @param annotation  This method's annotation.
+	 * @param moduleNames The names of the modules this method requires, or {@code null} if none are.
+	 * @param modules     The modules this method requires, or {@code null} if none are.
+	 * @return The resolved signature, or {@code null} if the method is invalid.
+	 */
+	@Nullable
+	private static Signature resolve(Method method, String name, PlethoraMethod annotation, @Nullable String[] moduleNames, @Nullable ResourceLocation[] modules) {
 		// Extract our required context and validate the arguments
 		Class<?> target = null, subTarget = null;
 		List<ContextInfo> context = new ArrayList<>();
@@ -206,25 +254,8 @@ public final class PlethoraMethodRegistry {
 			}
 		}
 
-		// Extract some trivial properties
-		String[] names = annotation.name();
-		if (names.length == 0) names = new String[]{method.getName()};
-
-		// Get the marker interfaces.
-		MarkerInterfaces markers = method.getAnnotation(MarkerInterfaces.class);
-		Class<?>[] markerIfaces = markers == null || markers.value().length == 0 ? null : markers.value();
-
-		if (!ok) return false;
-
-		MethodInstance<?, ?> instance = new MethodInstance<>(
-			method, target, names[0], docs,
-			annotation.worldThread(), context.toArray(new ContextInfo[0]),
-			contextIndex, modules, markerIfaces,
-			subTarget
-		);
-		register(target, instance);
-		for (int i = 1; i < names.length; i++) register(target, new RenamedMethod<>(names[i], instance));
-		return true;
+		if (!ok) return null;
+		return new Signature(target, subTarget, context.toArray(new ContextInfo[0]), contextIndex, docs);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -378,4 +409,82 @@ public final class PlethoraMethodRegistry {
 			return argTy == null ? "value" : argTy.name();
 		}
 	}
+
+	/**
+	 * The result of resolving a method's targets and context. This is stored in the {@link RegistrationIndex}, so that
+	 * we do not need to inspect the method's parameters on subsequent starts.
+	 */
+	private static final class Signature {
+		final Class<?> target;
+		final Class<?> subTarget;
+		final ContextInfo[] context;
+		final int contextIndex;
+		final String docs;
+
+		Signature(Class<?> target, @Nullable Class<?> subTarget, ContextInfo[] context, int contextIndex, String docs) {
+			this.target = target;
+			this.subTarget = subTarget;
+			this.context = context;
+			this.contextIndex = contextIndex;
+			this.docs = docs;
+		}
+
+		@Nullable
+		static Signature read(String key, @Nullable NBTTagCompound tag) {
+			if (tag == null) return null;
+
+			try {
+				Class<?> target = getClass(tag.getString("target"));
+				Class<?> subTarget = tag.hasKey("subTarget", Constants.NBT.TAG_STRING) ? getClass(tag.getString("subTarget")) : null;
+
+				NBTTagList contextTag = tag.getTagList("context", Constants.NBT.TAG_COMPOUND);
+				ContextInfo[] context = new ContextInfo[contextTag.tagCount()];
+				for (int i = 0; i < context.length; i++) {
+					NBTTagCompound info = contextTag.getCompoundTagAt(i);
+
+					String[] keys = null;
+					if (info.hasKey("keys", Constants.NBT.TAG_LIST)) {
+						NBTTagList keysTag = info.getTagList("keys", Constants.NBT.TAG_STRING);
+						keys = new String[keysTag.tagCount()];
+						for (int j = 0; j < keys.length; j++) keys[j] = keysTag.getStringTagAt(j);
+					}
+
+					context[i] = new ContextInfo(keys, getClass(info.getString("type")));
+				}
+
+				return new Signature(target, subTarget, context, tag.getInteger("contextIndex"), tag.getString("docs"));
+			} catch (ClassNotFoundException | LinkageError e) {
+				LOG.debug("Cannot load indexed signature for {}, resolving it again", key, e);
+				RegistrationIndex.instance.invalidate(INDEX_KIND, key);
+				return null;
+			}
+		}
+
+		NBTTagCompound write() {
+			NBTTagCompound tag = new NBTTagCompound();
+			tag.setString("target", target.getName());
+			if (subTarget != null) tag.setString("subTarget", subTarget.getName());
+
+			NBTTagList contextTag = new NBTTagList();
+			for (ContextInfo info : context) {
+				NBTTagCompound infoTag = new NBTTagCompound();
+				infoTag.setString("type", info.klass.getName());
+				if (info.key != null) {
+					NBTTagList keysTag = new NBTTagList();
+					for (String key : info.key) keysTag.appendTag(new NBTTagString(key));
+					infoTag.setTag("keys", keysTag);
+				}
+				contextTag.appendTag(infoTag);
+			}
+			tag.setTag("context", contextTag);
+
+			tag.setInteger("contextIndex", contextIndex);
+			tag.setString("docs", docs);
+			return tag;
+		}
+
+		private static Class<?> getClass(String name) throws ClassNotFoundException {
+			return Class.forName(name, false, PlethoraMethodRegistry.class.getClassLoader());
+		}
+	}
 }
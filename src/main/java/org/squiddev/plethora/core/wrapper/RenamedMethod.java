@@ -53,6 +53,11 @@ class RenamedMethod<T, U> implements IModuleMethod<T>, ISubTargetedMethod<T, U>
 		return instance.canApply(context);
 	}
 
+	@Override
+	public boolean isShapeOnly() {
+		return instance.isShapeOnly();
+	}
+
 	@Nonnull
 	@Override
 	public MethodResult apply(@Nonnull IUnbakedContext<T> context, @Nonnull Object[] args) throws LuaException {
@@ -277,6 +277,17 @@ public final class ConfigGameplay {
 		@Range(min = 1)
 		public static int framebufferScale;
 
+		/**
+		 * The maximum number of bytes of canvas updates which can be
+		 * sent to a single player each tick. Changes which do not fit
+		 * are deferred to later ticks.
+		 *
+		 * Set to 0 to disable.
+		 */
+		@DefaultInt(16384)
+		@Range(min = 0)
+		public static int bandwidthBudget;
+
 		private Glasses() {
 		}
 	}
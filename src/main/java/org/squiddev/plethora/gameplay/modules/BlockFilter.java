@@ -0,0 +1,214 @@
+package org.squiddev.plethora.gameplay.modules;
+
+import dan200.computercraft.api.lua.LuaException;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanMap;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.properties.IProperty;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.oredict.OreDictionary;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+import static org.squiddev.plethora.api.method.ArgumentHelper.*;
+
+/**
+ * A filter for blocks, compiled from a Lua table. This is used to restrict which blocks a scan returns.
+ *
+ * A filter may contain:
+ * <ul>
+ * <li>{@code name}: A block name, or list of block names.</li>
+ * <li>{@code ore}: An ore dictionary name, or list of names.</li>
+ * <li>{@code state}: A table of block state properties and their required values.</li>
+ * <li>{@code minX}, {@code minY}, {@code minZ}, {@code maxX}, {@code maxY}, {@code maxZ}: The bounds of the region to
+ * scan, relative to the scanner.</li>
+ * </ul>
+ *
+ * A block matches if it has any of the given names or ore dictionary entries (or neither was specified), has every
+ * given state property, and is within the bounds.
+ *
+ * Whether a state matches is cached, so testing each block is a single lookup once a state has been seen.
+ */
+public final class BlockFilter {
+	@Nullable
+	private final Set<Block> blocks;
+
+	@Nullable
+	private final IntSet ores;
+
+	@Nonnull
+	private final Map<String, String> properties;
+
+	public final int minX, minY, minZ;
+	public final int maxX, maxY, maxZ;
+
+	private final Reference2BooleanMap<IBlockState> matches = new Reference2BooleanOpenHashMap<>();
+
+	private BlockFilter(
+		@Nullable Set<Block> blocks, @Nullable IntSet ores, @Nonnull Map<String, String> properties,
+		int minX, int minY, int minZ, int maxX, int maxY, int maxZ
+	) {
+		this.blocks = blocks;
+		this.ores = ores;
+		this.properties = properties;
+		this.minX = minX;
+		this.minY = minY;
+		this.minZ = minZ;
+		this.maxX = maxX;
+		this.maxY = maxY;
+		this.maxZ = maxZ;
+	}
+
+	/**
+	 * Determine whether a block state matches this filter. This does not check the block's position.
+	 *
+	 * @param state The state to check.
+	 * @return Whether this state matches.
+	 */
+	public boolean matches(@Nonnull IBlockState state) {
+		if (matches.containsKey(state)) return matches.getBoolean(state);
+
+		boolean result = matchesUncached(state);
+		matches.put(state, result);
+		return result;
+	}
+
+	private boolean matchesUncached(@Nonnull IBlockState state) {
+		Block block = state.getBlock();
+		if (blocks != null || ores != null) {
+			boolean found = blocks != null && blocks.contains(block);
+			if (!found && ores != null) found = hasOre(state);
+			if (!found) return false;
+		}
+
+		if (!properties.isEmpty()) {
+			Collection<IProperty<?>> keys = state.getPropertyKeys();
+			for (Map.Entry<String, String> entry : properties.entrySet()) {
+				IProperty<?> property = null;
+				for (IProperty<?> key : keys) {
+					if (key.getName().equals(entry.getKey())) {
+						property = key;
+						break;
+					}
+				}
+
+				if (property == null || !entry.getValue().equals(getValueName(state, property))) return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean hasOre(@Nonnull IBlockState state) {
+		Block block = state.getBlock();
+		Item item = Item.getItemFromBlock(block);
+		if (item == Items.AIR) return false;
+
+		for (int id : OreDictionary.getOreIDs(new ItemStack(item, 1, block.damageDropped(state)))) {
+			if (ores.contains(id)) return true;
+		}
+		return false;
+	}
+
+	private static <T extends Comparable<T>> String getValueName(IBlockState state, IProperty<T> property) {
+		return property.getName(state.getValue(property));
+	}
+
+	/**
+	 * Compile a filter from a Lua table. The filter's bounds will be clamped to the given radius.
+	 *
+	 * @param table  The table to compile.
+	 * @param radius The radius of the region being scanned.
+	 * @return The compiled filter.
+	 * @throws LuaException If the table is malformed.
+	 */
+	@Nonnull
+	public static BlockFilter fromLua(@Nonnull Map<?, ?> table, int radius) throws LuaException {
+		Set<Block> blocks = null;
+		List<String> names = getStrings(table, "name");
+		if (names != null) {
+			blocks = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (String name : names) {
+				ResourceLocation nameRes = new ResourceLocation(name);
+				if (!ForgeRegistries.BLOCKS.containsKey(nameRes)) throw new LuaException("No such block '" + name + "'");
+				blocks.add(ForgeRegistries.BLOCKS.getValue(nameRes));
+			}
+		}
+
+		IntSet ores = null;
+		List<String> oreNames = getStrings(table, "ore");
+		if (oreNames != null) {
+			ores = new IntOpenHashSet();
+			for (String ore : oreNames) {
+				if (OreDictionary.doesOreNameExist(ore)) ores.add(OreDictionary.getOreID(ore));
+			}
+		}
+
+		Map<String, String> properties = new HashMap<>();
+		Object stateObj = table.get("state");
+		if (stateObj != null) {
+			if (!(stateObj instanceof Map)) throw badObjectType("state", "table", stateObj);
+
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) stateObj).entrySet()) {
+				if (!(entry.getKey() instanceof String)) throw badObjectType("state", "table of strings", entry.getKey());
+				properties.put((String) entry.getKey(), toPropertyValue((String) entry.getKey(), entry.getValue()));
+			}
+		}
+
+		return new BlockFilter(
+			blocks, ores, properties,
+			getBound(table, "minX", -radius, radius), getBound(table, "minY", -radius, radius), getBound(table, "minZ", -radius, radius),
+			getBound(table, "maxX", radius, radius), getBound(table, "maxY", radius, radius), getBound(table, "maxZ", radius, radius)
+		);
+	}
+
+	@Nullable
+	private static List<String> getStrings(@Nonnull Map<?, ?> table, @Nonnull String key) throws LuaException {
+		Object value = table.get(key);
+		if (value == null) return null;
+		if (value instanceof String) return Collections.singletonList((String) value);
+		if (!(value instanceof Map)) throw badObjectType(key, "string or table", value);
+
+		List<String> result = new ArrayList<>();
+		for (Object child : ((Map<?, ?>) value).values()) {
+			if (!(child instanceof String)) throw badObjectType(key, "table of strings", child);
+			result.add((String) child);
+		}
+		return result;
+	}
+
+	@Nonnull
+	private static String toPropertyValue(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (value instanceof String) {
+			return (String) value;
+		} else if (value instanceof Boolean) {
+			return value.toString();
+		} else if (value instanceof Number) {
+			double number = ((Number) value).doubleValue();
+			return number == Math.floor(number) && !Double.isInfinite(number)
+				? Long.toString((long) number)
+				: Double.toString(number);
+		} else {
+			throw badObjectType(key, "string, number or boolean", value);
+		}
+	}
+
+	private static int getBound(@Nonnull Map<?, ?> table, @Nonnull String key, int def, int radius) throws LuaException {
+		Object value = table.get(key);
+		if (value == null) return def;
+		if (!(value instanceof Number)) throw badObjectType(key, "number", value);
+
+		double bound = ((Number) value).doubleValue();
+		if (Double.isNaN(bound)) throw badObject(key, "number", numberType(bound));
+		return (int) Math.max(-radius, Math.min(radius, Math.floor(bound)));
+	}
+}
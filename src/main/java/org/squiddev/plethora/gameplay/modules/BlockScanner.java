@@ -0,0 +1,338 @@
+package org.squiddev.plethora.gameplay.modules;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.squiddev.plethora.api.method.LuaList;
+import org.squiddev.plethora.gameplay.Plethora;
+import org.squiddev.plethora.integration.vanilla.meta.MetaBlockState;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Scans blocks in a cube around a point.
+ *
+ * Rather than querying the world for every block, we take a snapshot of each 16x16x16 chunk section the first time it
+ * is scanned, reading directly from the chunk's block storage. Snapshots are discarded when a block within (or next to)
+ * the section changes, its chunk is loaded or unloaded, or after {@link #MAX_AGE} ticks (to catch changes which do
+ * not notify the world, such as a tile entity changing a block's actual state).
+ *
+ * This must only be used from the server thread.
+ */
+@Mod.EventBusSubscriber(modid = Plethora.ID)
+public final class BlockScanner {
+	/**
+	 * The maximum number of ticks a section snapshot will be used for.
+	 */
+	private static final int MAX_AGE = 20;
+
+	private static final Map<World, WorldCache> worlds = new MapMaker().weakKeys().makeMap();
+
+	private BlockScanner() {
+	}
+
+	/**
+	 * Visit every block within a cube.
+	 *
+	 * @param world   The world to scan in.
+	 * @param centre  The centre of the cube.
+	 * @param radius  The radius of the cube.
+	 * @param visitor The visitor to call with each block.
+	 */
+	public static void visit(@Nonnull World world, @Nonnull BlockPos centre, int radius, @Nonnull Visitor visitor) {
+		getCache(world).visit(centre, -radius, -radius, -radius, radius, radius, radius, visitor);
+	}
+
+	/**
+	 * Visit every block within a region.
+	 *
+	 * @param world   The world to scan in.
+	 * @param centre  The position all coordinates are relative to.
+	 * @param filter  The filter to apply. Only blocks within its bounds, and which match it, are visited.
+	 * @param visitor The visitor to call with each block.
+	 */
+	public static void visit(@Nonnull World world, @Nonnull BlockPos centre, @Nonnull BlockFilter filter, @Nonnull Visitor visitor) {
+		getCache(world).visit(
+			centre, filter.minX, filter.minY, filter.minZ, filter.maxX, filter.maxY, filter.maxZ,
+			(x, y, z, state) -> {
+				if (filter.matches(state)) visitor.visit(x, y, z, state);
+			}
+		);
+	}
+
+	/**
+	 * Scan every block within a cube, returning the name, metadata and state of each one.
+	 *
+	 * @param world  The world to scan in.
+	 * @param centre The centre of the cube.
+	 * @param radius The radius of the cube.
+	 * @return A Lua list of each block and its position relative to the centre.
+	 */
+	@Nonnull
+	public static Map<Integer, Map<String, ?>> scan(@Nonnull World world, @Nonnull BlockPos centre, int radius) {
+		int size = radius * 2 + 1;
+		LuaList<Map<String, ?>> result = new LuaList<>(size * size * size);
+		Map<IBlockState, Map<String, Object>> stateData = new HashMap<>();
+
+		visit(world, centre, radius, (x, y, z, state) -> {
+			Map<String, Object> basic = stateData.computeIfAbsent(state, BlockScanner::getBasicData);
+
+			HashMap<String, Object> data = new HashMap<>(6);
+			data.put("x", x);
+			data.put("y", y);
+			data.put("z", z);
+			data.putAll(basic);
+			result.add(data);
+		});
+
+		return result.asMap();
+	}
+
+	@Nonnull
+	private static WorldCache getCache(World world) {
+		WorldCache cache = worlds.get(world);
+		if (cache == null) {
+			worlds.put(world, cache = new WorldCache(world));
+			world.addEventListener(cache);
+		}
+		return cache;
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		World world = event.getWorld();
+		WorldCache cache = worlds.remove(world);
+		if (cache != null) world.removeEventListener(cache);
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(ChunkEvent.Load event) {
+		invalidateChunk(event.getWorld(), event.getChunk());
+	}
+
+	@SubscribeEvent
+	public static void onChunkUnload(ChunkEvent.Unload event) {
+		invalidateChunk(event.getWorld(), event.getChunk());
+	}
+
+	private static void invalidateChunk(World world, Chunk chunk) {
+		WorldCache cache = worlds.get(world);
+		if (cache != null) cache.invalidateChunk(chunk.x, chunk.z);
+	}
+
+	private static long sectionKey(int x, int y, int z) {
+		return ((long) x & 0x3FFFFFF) << 38 | ((long) y & 0xFFF) << 26 | (long) z & 0x3FFFFFF;
+	}
+
+	@FunctionalInterface
+	public interface Visitor {
+		/**
+		 * Visit a single block.
+		 *
+		 * @param x     The x position, relative to the centre.
+		 * @param y     The y position, relative to the centre.
+		 * @param z     The z position, relative to the centre.
+		 * @param state The actual state of this block.
+		 */
+		void visit(int x, int y, int z, @Nonnull IBlockState state);
+	}
+
+	/**
+	 * An immutable snapshot of a chunk section.
+	 */
+	private static final class Section {
+		/**
+		 * The actual state of every block in this section, or {@code null} if the section is entirely air.
+		 */
+		@Nullable
+		final IBlockState[] states;
+		final long created;
+
+		Section(@Nullable IBlockState[] states, long created) {
+			this.states = states;
+			this.created = created;
+		}
+
+		IBlockState get(int x, int y, int z) {
+			return states == null ? Blocks.AIR.getDefaultState() : states[(y & 15) << 8 | (z & 15) << 4 | (x & 15)];
+		}
+
+		boolean isValid(long time) {
+			return time - created < MAX_AGE;
+		}
+	}
+
+	private static final class WorldCache implements IWorldEventListener {
+		private final World world;
+		private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+		WorldCache(World world) {
+			this.world = world;
+		}
+
+		void visit(BlockPos centre, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Visitor visitor) {
+			long time = world.getTotalWorldTime();
+			int x = centre.getX(), y = centre.getY(), z = centre.getZ();
+
+			for (int oX = x + minX; oX <= x + maxX; oX++) {
+				for (int oY = y + minY; oY <= y + maxY; oY++) {
+					Section section = null;
+					int sectionZ = Integer.MIN_VALUE;
+
+					for (int oZ = z + minZ; oZ <= z + maxZ; oZ++) {
+						if (section == null || oZ >> 4 != sectionZ) {
+							sectionZ = oZ >> 4;
+							section = getSection(oX >> 4, oY >> 4, sectionZ, time);
+						}
+
+						visitor.visit(oX - x, oY - y, oZ - z, section.get(oX, oY, oZ));
+					}
+				}
+			}
+		}
+
+		private Section getSection(int x, int y, int z, long time) {
+			long key = sectionKey(x, y, z);
+			Section section = sections.get(key);
+			if (section == null || !section.isValid(time)) {
+				sections.put(key, section = buildSection(x, y, z, time));
+			}
+			return section;
+		}
+
+		private Section buildSection(int x, int y, int z, long time) {
+			if (y < 0 || y >= 16) return new Section(null, time);
+
+			ExtendedBlockStorage storage = world.getChunk(x, z).getBlockStorageArray()[y];
+			if (storage == null || storage.isEmpty()) return new Section(null, time);
+
+			IBlockState[] states = new IBlockState[16 * 16 * 16];
+			BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+			int index = 0;
+			for (int oY = 0; oY < 16; oY++) {
+				for (int oZ = 0; oZ < 16; oZ++) {
+					for (int oX = 0; oX < 16; oX++) {
+						IBlockState state = storage.get(oX, oY, oZ);
+						if (state.getBlock() != Blocks.AIR) {
+							pos.setPos(x << 4 | oX, y << 4 | oY, z << 4 | oZ);
+							state = state.getActualState(world, pos);
+						}
+
+						states[index++] = state;
+					}
+				}
+			}
+
+			return new Section(states, time);
+		}
+
+		private void invalidate(int x, int y, int z) {
+			sections.remove(sectionKey(x, y, z));
+		}
+
+		void invalidateChunk(int x, int z) {
+			for (int y = 0; y < 16; y++) invalidate(x, y, z);
+		}
+
+		private void invalidateBlock(int x, int y, int z) {
+			// The actual state of a block may depend on its neighbours, so also invalidate adjacent sections
+			int minX = (x - 1) >> 4, maxX = (x + 1) >> 4;
+			int minY = (y - 1) >> 4, maxY = (y + 1) >> 4;
+			int minZ = (z - 1) >> 4, maxZ = (z + 1) >> 4;
+			for (int sX = minX; sX <= maxX; sX++) {
+				for (int sY = minY; sY <= maxY; sY++) {
+					for (int sZ = minZ; sZ <= maxZ; sZ++) invalidate(sX, sY, sZ);
+				}
+			}
+		}
+
+		@Override
+		public void notifyBlockUpdate(@Nonnull World world, @Nonnull BlockPos pos, @Nonnull IBlockState oldState, @Nonnull IBlockState newState, int flags) {
+			invalidateBlock(pos.getX(), pos.getY(), pos.getZ());
+		}
+
+		@Override
+		public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+			for (int sX = (x1 - 1) >> 4; sX <= (x2 + 1) >> 4; sX++) {
+				for (int sY = (y1 - 1) >> 4; sY <= (y2 + 1) >> 4; sY++) {
+					for (int sZ = (z1 - 1) >> 4; sZ <= (z2 + 1) >> 4; sZ++) invalidate(sX, sY, sZ);
+				}
+			}
+		}
+
+		@Override
+		public void notifyLightSet(@Nonnull BlockPos pos) {
+		}
+
+		@Override
+		public void playSoundToAllNearExcept(@Nullable EntityPlayer player, @Nonnull SoundEvent sound, @Nonnull SoundCategory category, double x, double y, double z, float volume, float pitch) {
+		}
+
+		@Override
+		public void playRecord(@Nonnull SoundEvent sound, @Nonnull BlockPos pos) {
+		}
+
+		@Override
+		public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+		}
+
+		@Override
+		public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+		}
+
+		@Override
+		public void onEntityAdded(@Nonnull Entity entity) {
+		}
+
+		@Override
+		public void onEntityRemoved(@Nonnull Entity entity) {
+		}
+
+		@Override
+		public void broadcastSound(int soundID, @Nonnull BlockPos pos, int data) {
+		}
+
+		@Override
+		public void playEvent(@Nullable EntityPlayer player, int type, @Nonnull BlockPos pos, int data) {
+		}
+
+		@Override
+		public void sendBlockBreakProgress(int breakerId, @Nonnull BlockPos pos, int progress) {
+		}
+	}
+
+	/**
+	 * Get the name, metadata and state of a block.
+	 *
+	 * @param state The block's state.
+	 * @return The basic information about this block.
+	 */
+	@Nonnull
+	public static Map<String, Object> getBasicData(@Nonnull IBlockState state) {
+		Map<String, Object> data = new HashMap<>(3);
+
+		ResourceLocation name = state.getBlock().getRegistryName();
+		data.put("name", name == null ? "unknown" : name.toString());
+
+		MetaBlockState.fillBasicMeta(data, state);
+		return data;
+	}
+}
@@ -1,11 +1,18 @@
 package org.squiddev.plethora.gameplay.modules;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import dan200.computercraft.api.lua.LuaException;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.server.management.PlayerList;
+import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.event.ServerChatEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import org.squiddev.plethora.api.IAttachable;
 import org.squiddev.plethora.api.module.IModuleAccess;
 import org.squiddev.plethora.api.reference.ConstantReference;
@@ -14,18 +21,39 @@ import org.squiddev.plethora.gameplay.PlethoraFakePlayer;
 import org.squiddev.plethora.gameplay.registry.Registration;
 import org.squiddev.plethora.utils.Helpers;
 import org.squiddev.plethora.utils.LuaPattern;
+import org.squiddev.plethora.utils.LuaPatternSet;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Handles chat capturing and recording.
+ *
+ * Capturing listeners are indexed by their owner, so a message only checks the listeners bound to its sender, along
+ * with any {@link CreativeListener creative listeners} (which capture messages from everyone). Other listeners without
+ * an owner can never capture a message, and so are not indexed. {@code chat_message} events are queued on a separate thread, as every listener
+ * receives them. Players holding a chat recorder are tracked as their equipment changes, rather than checking every
+ * player for every message.
+ */
 @Mod.EventBusSubscriber(modid = Plethora.ID)
 public final class ChatListener {
-	private static Set<Listener> listeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private static final Set<Listener> listeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private static final Map<UUID, Set<Listener>> ownedListeners = new ConcurrentHashMap<>();
+	private static final Set<Listener> creativeListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	/**
+	 * Players holding a chat recorder. This is only accessed from the server thread.
+	 */
+	private static final Set<EntityPlayerMP> recorders = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private static final Executor messageExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+		.setNameFormat("Plethora-Chat")
+		.setDaemon(true)
+		.build());
 
 	private ChatListener() {
 	}
@@ -39,38 +67,69 @@ public final class ChatListener {
 		}
 
 		// Handle captures
-		for (Listener listener : listeners) {
-			if (listener.handles(sender) && listener.handleCapture(sender, event.getMessage())) {
-				event.setCanceled(true);
-				return;
-			}
+		Set<Listener> owned = ownedListeners.get(sender.getUniqueID());
+		if ((owned != null && handleCapture(owned, sender, event.getMessage())) || handleCapture(creativeListeners, sender, event.getMessage())) {
+			event.setCanceled(true);
+			return;
 		}
 
-		// Handle chat messages for everyone
-		for (Listener listener : listeners) {
-			listener.handleMessage(sender, event.getMessage());
+		// Handle chat messages for everyone. Queuing events is thread safe, so we do this off the server thread.
+		if (!listeners.isEmpty()) {
+			String name = sender.getDisplayName().getUnformattedText();
+			String contents = event.getMessage();
+			String id = sender.getPersistentID().toString();
+			messageExecutor.execute(() -> {
+				for (Listener listener : listeners) listener.handleMessage(name, contents, id);
+			});
 		}
 
 		// And send a message to every player in range holding a chat recorder.
+		if (recorders.isEmpty()) return;
+
 		PlayerList players = event.getPlayer().server.getPlayerList();
 		int distance = players.getViewDistance() * 16;
 		distance *= distance;
 		ChatMessage message = new ChatMessage(sender, event.getComponent());
 
-		for (EntityPlayerMP player : players.getPlayers()) {
-			if (Helpers.isHolding(player, Registration.itemModule, PlethoraModules.CHAT_ID) ||
-				Helpers.isHolding(player, Registration.itemModule, PlethoraModules.CHAT_CREATIVE_ID)) {
-				if (player != sender && player.getEntityWorld() == sender.getEntityWorld() && player.getDistanceSq(sender) <= distance) {
-					Plethora.network.sendTo(message, player);
-				}
+		for (EntityPlayerMP player : recorders) {
+			if (!player.isDead && player != sender && player.getEntityWorld() == sender.getEntityWorld() && player.getDistanceSq(sender) <= distance) {
+				Plethora.network.sendTo(message, player);
 			}
 		}
 	}
 
+	private static boolean handleCapture(Set<Listener> listeners, Entity sender, String message) {
+		for (Listener listener : listeners) {
+			if (listener.handles(sender) && listener.handleCapture(sender, message)) return true;
+		}
+
+		return false;
+	}
+
+	@SubscribeEvent
+	public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+		if (event.getSlot().getSlotType() != EntityEquipmentSlot.Type.HAND) return;
+
+		EntityLivingBase entity = event.getEntityLiving();
+		if (!(entity instanceof EntityPlayerMP) || entity instanceof FakePlayer) return;
+
+		if (Helpers.isHolding(entity, Registration.itemModule, PlethoraModules.CHAT_ID) ||
+			Helpers.isHolding(entity, Registration.itemModule, PlethoraModules.CHAT_CREATIVE_ID)) {
+			recorders.add((EntityPlayerMP) entity);
+		} else {
+			recorders.remove(entity);
+		}
+	}
+
+	@SubscribeEvent
+	public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+		recorders.remove(event.player);
+	}
+
 	public static class Listener implements IAttachable, ConstantReference<Listener> {
 		private final IModuleAccess access;
 		private final UUID owner;
-		private final Set<String> patterns = new HashSet<>();
+		private final LuaPatternSet patterns = new LuaPatternSet();
 
 		public Listener(@Nonnull IModuleAccess access, @Nullable UUID owner) {
 			this.access = access;
@@ -81,8 +140,18 @@ public final class ChatListener {
 			return owner != null && owner.equals(sender.getUniqueID());
 		}
 
-		public synchronized void addPattern(String pattern) {
-			patterns.add(pattern);
+		/**
+		 * Add a pattern to capture.
+		 *
+		 * @param pattern The pattern to add.
+		 * @throws LuaException If the pattern is malformed.
+		 */
+		public synchronized void addPattern(String pattern) throws LuaException {
+			try {
+				patterns.add(pattern);
+			} catch (IllegalArgumentException e) {
+				throw new LuaException(e.getMessage());
+			}
 		}
 
 		public synchronized boolean removePattern(String pattern) {
@@ -94,28 +163,44 @@ public final class ChatListener {
 		}
 
 		private synchronized boolean handleCapture(Entity sender, String message) {
-			for (String pattern : patterns) {
-				if (LuaPattern.matches(message, pattern)) {
-					access.queueEvent("chat_capture", message, pattern, sender.getDisplayName().getUnformattedText(), sender.getPersistentID().toString());
-					return true;
-				}
-			}
+			if (patterns.isEmpty()) return false;
+
+			LuaPattern pattern = patterns.find(message);
+			if (pattern == null) return false;
 
-			return false;
+			access.queueEvent("chat_capture", message, pattern.getPattern(), sender.getDisplayName().getUnformattedText(), sender.getPersistentID().toString());
+			return true;
 		}
 
-		private void handleMessage(Entity sender, String message) {
-			access.queueEvent("chat_message", sender.getDisplayName().getUnformattedText(), message, sender.getPersistentID().toString());
+		private void handleMessage(String name, String message, String id) {
+			access.queueEvent("chat_message", name, message, id);
 		}
 
 		@Override
 		public void attach() {
 			listeners.add(this);
+			if (this instanceof CreativeListener) {
+				creativeListeners.add(this);
+			} else if (owner != null) {
+				ownedListeners.compute(owner, (k, existing) -> {
+					if (existing == null) existing = Collections.newSetFromMap(new ConcurrentHashMap<>());
+					existing.add(this);
+					return existing;
+				});
+			}
 		}
 
 		@Override
 		public void detach() {
 			listeners.remove(this);
+			if (this instanceof CreativeListener) {
+				creativeListeners.remove(this);
+			} else if (owner != null) {
+				ownedListeners.computeIfPresent(owner, (k, existing) -> {
+					existing.remove(this);
+					return existing.isEmpty() ? null : existing;
+				});
+			}
 		}
 
 		@Nonnull
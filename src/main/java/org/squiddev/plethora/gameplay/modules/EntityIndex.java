@@ -0,0 +1,221 @@
+package org.squiddev.plethora.gameplay.modules;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.squiddev.plethora.gameplay.Plethora;
+import org.squiddev.plethora.utils.Helpers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * An index of the entities in a world, shared between all sensors.
+ *
+ * The index is a snapshot of the world, built lazily the first time it is queried in a tick and discarded on the next
+ * tick. Entities are bucketed by chunk (only for chunks which have been queried), so sensors sharing an area do not
+ * each walk the world's chunks. Entities are found by UUID using the world's own UUID lookup.
+ *
+ * As entities may move or die during a tick, we always re-check an entity's position and liveness when querying.
+ * Entities which join the world part way through a tick discard their chunk's snapshot, so are visible immediately.
+ * However, an entity which crosses a chunk boundary part way through a tick may be missed until the next one.
+ *
+ * This must only be used from the server thread.
+ */
+@Mod.EventBusSubscriber(modid = Plethora.ID)
+public final class EntityIndex {
+	private static final Map<World, Snapshot> worlds = new MapMaker().weakKeys().makeMap();
+
+	private EntityIndex() {
+	}
+
+	/**
+	 * Find all sensible entities whose bounding box intersects the given box. As with
+	 * {@link World#getEntitiesWithinAABB(Class, AxisAlignedBB)}, this includes the parts of any multipart entity.
+	 *
+	 * @param world The world to search in.
+	 * @param box   The box to search within.
+	 * @return All matching entities.
+	 */
+	@Nonnull
+	public static List<Entity> getEntities(@Nonnull World world, @Nonnull AxisAlignedBB box) {
+		List<Entity> result = new ArrayList<>();
+		visit(world, box, entity -> {
+			result.add(entity);
+			return false;
+		});
+		return result;
+	}
+
+	/**
+	 * Find a sensible entity by its UUID.
+	 *
+	 * @param world The world to search in.
+	 * @param box   The box the entity must be within.
+	 * @param id    The entity's UUID.
+	 * @return The entity, or {@code null} if it could not be found.
+	 */
+	@Nullable
+	public static Entity getEntity(@Nonnull World world, @Nonnull AxisAlignedBB box, @Nonnull UUID id) {
+		if (world instanceof WorldServer) {
+			Entity entity = ((WorldServer) world).getEntityFromUuid(id);
+			if (entity != null) return isValid(entity, box) ? entity : null;
+		}
+
+		// The entity may be a part of a multipart entity, which are not tracked by UUID.
+		return find(world, box, entity -> entity.getUniqueID().equals(id));
+	}
+
+	/**
+	 * Find a sensible entity by its name.
+	 *
+	 * @param world The world to search in.
+	 * @param box   The box the entity must be within.
+	 * @param name  The entity's name, as given by {@link Helpers#getName(Entity)}.
+	 * @return The first entity with this name, or {@code null} if none could be found.
+	 */
+	@Nullable
+	public static Entity getEntity(@Nonnull World world, @Nonnull AxisAlignedBB box, @Nonnull String name) {
+		return find(world, box, entity -> Helpers.getName(entity).equals(name));
+	}
+
+	@Nullable
+	private static Entity find(@Nonnull World world, @Nonnull AxisAlignedBB box, @Nonnull Predicate<Entity> predicate) {
+		Entity[] result = new Entity[1];
+		visit(world, box, entity -> {
+			if (!predicate.test(entity)) return false;
+			result[0] = entity;
+			return true;
+		});
+		return result[0];
+	}
+
+	/**
+	 * Visit every sensible entity (and multipart entity part) whose bounding box intersects the given box, only
+	 * walking the chunks which the box covers.
+	 *
+	 * @param world   The world to search in.
+	 * @param box     The box to search within.
+	 * @param visitor The function to call with each entity. This returns {@code true} to stop visiting.
+	 */
+	private static void visit(@Nonnull World world, @Nonnull AxisAlignedBB box, @Nonnull Predicate<Entity> visitor) {
+		Snapshot snapshot = getSnapshot(world);
+
+		int minX = MathHelper.floor((box.minX - World.MAX_ENTITY_RADIUS) / 16.0);
+		int maxX = MathHelper.floor((box.maxX + World.MAX_ENTITY_RADIUS) / 16.0);
+		int minZ = MathHelper.floor((box.minZ - World.MAX_ENTITY_RADIUS) / 16.0);
+		int maxZ = MathHelper.floor((box.maxZ + World.MAX_ENTITY_RADIUS) / 16.0);
+		for (int x = minX; x <= maxX; x++) {
+			for (int z = minZ; z <= maxZ; z++) {
+				for (Entity entity : snapshot.getChunk(x, z)) {
+					if (!isValid(entity, box)) continue;
+					if (visitor.test(entity)) return;
+
+					Entity[] parts = entity.getParts();
+					if (parts == null) continue;
+					for (Entity part : parts) {
+						if (isValid(part, box) && visitor.test(part)) return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determine whether an entity can be sensed. This excludes dead entities and spectators.
+	 *
+	 * @param entity The entity to check.
+	 * @return Whether this entity can be sensed.
+	 */
+	public static boolean isSensible(@Nullable Entity entity) {
+		return entity != null && entity.isEntityAlive() && (!(entity instanceof EntityPlayer) || !((EntityPlayer) entity).isSpectator());
+	}
+
+	private static boolean isValid(@Nonnull Entity entity, @Nonnull AxisAlignedBB box) {
+		return isSensible(entity) && entity.getEntityBoundingBox().intersects(box);
+	}
+
+	@Nonnull
+	private static Snapshot getSnapshot(@Nonnull World world) {
+		long time = world.getTotalWorldTime();
+		Snapshot snapshot = worlds.get(world);
+		if (snapshot == null || snapshot.time != time) worlds.put(world, snapshot = new Snapshot(world, time));
+		return snapshot;
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload event) {
+		worlds.remove(event.getWorld());
+	}
+
+	@SubscribeEvent
+	public static void onEntityJoin(EntityJoinWorldEvent event) {
+		Snapshot snapshot = worlds.get(event.getWorld());
+		if (snapshot == null) return;
+
+		// The entity has not been added to its chunk yet, so just discard the chunk. It will be rebuilt (including this
+		// entity) the next time it is queried.
+		Entity entity = event.getEntity();
+		snapshot.invalidate(MathHelper.floor(entity.posX / 16.0), MathHelper.floor(entity.posZ / 16.0));
+	}
+
+	private static long chunkKey(int x, int z) {
+		return (long) x << 32 | z & 0xFFFFFFFFL;
+	}
+
+	private static final class Snapshot {
+		private static final Entity[] EMPTY = new Entity[0];
+
+		final World world;
+		final long time;
+
+		private final Long2ObjectMap<Entity[]> chunks = new Long2ObjectOpenHashMap<>();
+
+		Snapshot(World world, long time) {
+			this.world = world;
+			this.time = time;
+		}
+
+		Entity[] getChunk(int x, int z) {
+			long key = chunkKey(x, z);
+			Entity[] entities = chunks.get(key);
+			if (entities == null) chunks.put(key, entities = buildChunk(x, z));
+			return entities;
+		}
+
+		void invalidate(int x, int z) {
+			chunks.remove(chunkKey(x, z));
+		}
+
+		private Entity[] buildChunk(int x, int z) {
+			Chunk chunk = world.getChunkProvider().getLoadedChunk(x, z);
+			if (chunk == null) return EMPTY;
+
+			List<Entity> entities = new ArrayList<>();
+			for (ClassInheritanceMultiMap<Entity> section : chunk.getEntityLists()) {
+				for (Entity entity : section) {
+					if (isSensible(entity)) entities.add(entity);
+				}
+			}
+
+			return entities.isEmpty() ? EMPTY : entities.toArray(EMPTY);
+		}
+	}
+}
@@ -24,6 +24,19 @@ public interface RangeInfo extends ConstantReference<RangeInfo> {
 	 */
 	int getBulkCost();
 
+	/**
+	 * The cost for a bulk operation which only covers part of this module's range.
+	 *
+	 * @param visited The number of positions which will be visited.
+	 * @return The cost of this operation. This is proportional to the volume visited, and never exceeds
+	 * {@link #getBulkCost()}.
+	 */
+	default double getBulkCost(long visited) {
+		long size = getRange() * 2 + 1;
+		long volume = size * size * size;
+		return visited >= volume ? getBulkCost() : getBulkCost() * (double) Math.max(0, visited) / volume;
+	}
+
 	@Nonnull
 	@Override
 	default RangeInfo get() {
@@ -17,7 +17,12 @@ public abstract class BaseObject {
 	private final byte type;
 	private final int parent;
 
-	private boolean dirty = true;
+	/**
+	 * A mask containing every field, used when sending the whole object.
+	 */
+	public static final int ALL_FIELDS = ~0;
+
+	private int dirty = ALL_FIELDS;
 
 	public BaseObject(int id, int parent, byte type) {
 		this.id = id;
@@ -52,14 +57,23 @@ public abstract class BaseObject {
 		return type;
 	}
 
-	boolean pollDirty() {
-		boolean value = dirty;
-		dirty = false;
+	boolean isDirty() {
+		return dirty != 0;
+	}
+
+	int pollDirty() {
+		int value = dirty;
+		dirty = 0;
 		return value;
 	}
 
-	protected void setDirty() {
-		dirty = true;
+	/**
+	 * Mark some fields of this object as changed, so they are sent on the next update.
+	 *
+	 * @param fields A bitmask of the changed fields, as understood by {@link #writeFields(ByteBuf, int)}.
+	 */
+	protected void setDirty(int fields) {
+		dirty |= fields;
 	}
 
 	/**
@@ -67,14 +81,47 @@ public abstract class BaseObject {
 	 *
 	 * @param buf The buffer to write to.
 	 */
-	public abstract void writeInitial(ByteBuf buf);
+	public final void writeInitial(ByteBuf buf) {
+		writeFields(buf, ALL_FIELDS);
+	}
 
 	/**
 	 * Read the initial data for this object.
 	 *
 	 * @param buf The buffer to read from.
 	 */
-	public abstract void readInitial(ByteBuf buf);
+	public final void readInitial(ByteBuf buf) {
+		readFields(buf, ALL_FIELDS);
+	}
+
+	/**
+	 * Write a subset of this object's fields.
+	 *
+	 * Each field (or group of fields which are always changed together) is assigned a bit. Subclasses should write
+	 * their parent's fields first, and use bits after the ones their parent uses.
+	 *
+	 * @param buf    The buffer to write to.
+	 * @param fields A bitmask of the fields to write.
+	 */
+	public abstract void writeFields(ByteBuf buf, int fields);
+
+	/**
+	 * Called once some fields have been written to a message which will be sent, so any state used to track changes
+	 * to them can be reset. {@link #writeFields(ByteBuf, int)} may be called without its output being sent, and so
+	 * must not have any side effects.
+	 *
+	 * @param fields A bitmask of the fields which were sent.
+	 */
+	protected void onSent(int fields) {
+	}
+
+	/**
+	 * Read a subset of this object's fields, as written by {@link #writeFields(ByteBuf, int)}.
+	 *
+	 * @param buf    The buffer to read from.
+	 * @param fields A bitmask of the fields to read.
+	 */
+	public abstract void readFields(ByteBuf buf, int fields);
 
 	/**
 	 * Draw this object
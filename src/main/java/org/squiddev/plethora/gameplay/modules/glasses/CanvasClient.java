@@ -1,19 +1,45 @@
 package org.squiddev.plethora.gameplay.modules.glasses;
 
 import it.unimi.dsi.fastutil.ints.*;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexBuffer;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.opengl.GL11;
 import org.squiddev.plethora.gameplay.Plethora;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.BatchedObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectGroup;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.ID_2D;
 import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.ID_3D;
 
+/**
+ * The client side representation of a canvas.
+ *
+ * Each group caches how its children should be drawn: consecutive objects which {@link BatchedObject can be
+ * batched} are compiled into a single vertex buffer, while other objects are drawn directly. This cache is only
+ * rebuilt when one of the group's direct children is added, removed or changed.
+ */
 public class CanvasClient {
+	/**
+	 * Caches which have been discarded, and whose buffers should be deleted on the render thread.
+	 */
+	private static final List<GroupCache> released = new ArrayList<>();
+
 	public final int id;
 
 	private final Int2ObjectMap<BaseObject> objects = new Int2ObjectOpenHashMap<>();
 	private final Int2ObjectMap<IntSortedSet> childrenOf = new Int2ObjectOpenHashMap<>();
+	private final Int2ObjectMap<GroupCache> caches = new Int2ObjectOpenHashMap<>();
 
 	public CanvasClient(int id) {
 		this.id = id;
@@ -33,16 +59,45 @@ public class CanvasClient {
 			parent.add(object.id());
 			if (object instanceof ObjectGroup) childrenOf.put(object.id(), new IntAVLTreeSet());
 		}
+
+		markDirty(object);
+	}
+
+	/**
+	 * Mark an object as having changed, meaning its group must be rebuilt before it is next drawn.
+	 *
+	 * @param object The object which has changed.
+	 */
+	public void markDirty(BaseObject object) {
+		GroupCache cache = caches.get(object.parent());
+		if (cache != null) cache.dirty = true;
 	}
 
 	public void remove(int id) {
 		BaseObject object = objects.remove(id);
 		childrenOf.remove(id); // We handle the removing of children in the server version
+		release(caches.remove(id));
 
 		if (object != null) {
 			// Remove from the parent set if needed.
 			IntSet parent = childrenOf.get(object.parent());
 			if (parent != null) parent.remove(id);
+			markDirty(object);
+		}
+	}
+
+	/**
+	 * Release all resources associated with this canvas. This is called when the canvas is removed.
+	 */
+	public void release() {
+		for (GroupCache cache : caches.values()) release(cache);
+		caches.clear();
+	}
+
+	private static void release(@Nullable GroupCache cache) {
+		if (cache == null) return;
+		synchronized (released) {
+			released.add(cache);
 		}
 	}
 
@@ -54,12 +109,179 @@ public class CanvasClient {
 		return childrenOf.get(id);
 	}
 
+	/**
+	 * Draw all children of a group.
+	 *
+	 * @param id The group whose children should be drawn.
+	 */
+	@SideOnly(Side.CLIENT)
+	public void drawChildren(int id) {
+		IntSortedSet children = childrenOf.get(id);
+		if (children == null) return;
+
+		GroupCache cache = caches.get(id);
+		if (cache == null) caches.put(id, cache = new GroupCache());
+		if (cache.dirty) cache.rebuild(this, children);
+		cache.draw(this);
+	}
+
+	/**
+	 * Delete any buffers which are no longer used. This must be called from the render thread.
+	 */
 	@SideOnly(Side.CLIENT)
-	public void drawChildren(IntIterator children) {
-		while (children.hasNext()) {
-			int id = children.nextInt();
-			BaseObject object = getObject(id);
-			if (object != null) object.draw(this);
+	public static void deleteReleased() {
+		synchronized (released) {
+			if (released.isEmpty()) return;
+			for (GroupCache cache : released) cache.delete();
+			released.clear();
+		}
+	}
+
+	private static final class GroupCache {
+		boolean dirty = true;
+
+		/**
+		 * The objects to draw directly, or {@code -1} if this segment should be drawn from the batch at the same
+		 * index of {@link #batches}.
+		 */
+		final IntList segments = new IntArrayList();
+		final List<Batch> batches = new ArrayList<>();
+
+		void rebuild(CanvasClient canvas, IntSortedSet children) {
+			delete();
+
+			Tessellator tessellator = Tessellator.getInstance();
+			BufferBuilder buffer = tessellator.getBuffer();
+			boolean batching = false;
+
+			for (IntIterator iterator = children.iterator(); iterator.hasNext(); ) {
+				int id = iterator.nextInt();
+				BaseObject object = canvas.getObject(id);
+				if (object == null) continue;
+
+				if (object instanceof BatchedObject && ((BatchedObject) object).canBatch()) {
+					if (!batching) {
+						buffer.begin(GL11.GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
+						batching = true;
+					}
+
+					((BatchedObject) object).drawBatched(buffer);
+				} else {
+					if (batching) {
+						addBatch(tessellator);
+						batching = false;
+					}
+
+					segments.add(id);
+					batches.add(null);
+				}
+			}
+
+			if (batching) addBatch(tessellator);
+			dirty = false;
+		}
+
+		private void addBatch(Tessellator tessellator) {
+			Batch batch = Batch.compile(tessellator);
+			if (batch == null) return;
+
+			segments.add(-1);
+			batches.add(batch);
+		}
+
+		void draw(CanvasClient canvas) {
+			for (int i = 0; i < segments.size(); i++) {
+				int id = segments.getInt(i);
+				if (id == -1) {
+					BaseObject.setupFlat();
+					batches.get(i).draw();
+				} else {
+					BaseObject object = canvas.getObject(id);
+					if (object != null) object.draw(canvas);
+				}
+			}
+		}
+
+		void delete() {
+			for (Batch batch : batches) {
+				if (batch != null) batch.delete();
+			}
+
+			segments.clear();
+			batches.clear();
+			dirty = true;
+		}
+	}
+
+	/**
+	 * A series of triangles, stored in a vertex buffer or, if those are not supported, a display list.
+	 */
+	private static final class Batch {
+		@Nullable
+		private final VertexBuffer buffer;
+		private final int list;
+
+		private Batch(@Nullable VertexBuffer buffer, int list) {
+			this.buffer = buffer;
+			this.list = list;
+		}
+
+		/**
+		 * Compile the contents of the tessellator's buffer into a batch.
+		 *
+		 * @param tessellator The tessellator, whose buffer is currently drawing.
+		 * @return The compiled batch, or {@code null} if nothing was drawn.
+		 */
+		@Nullable
+		static Batch compile(Tessellator tessellator) {
+			BufferBuilder builder = tessellator.getBuffer();
+			if (builder.getVertexCount() == 0) {
+				builder.finishDrawing();
+				builder.reset();
+				return null;
+			}
+
+			if (OpenGlHelper.useVbo()) {
+				builder.finishDrawing();
+				builder.reset();
+
+				VertexBuffer buffer = new VertexBuffer(DefaultVertexFormats.POSITION_COLOR);
+				buffer.bufferData(builder.getByteBuffer());
+				return new Batch(buffer, -1);
+			} else {
+				int list = GLAllocation.generateDisplayLists(1);
+				GlStateManager.glNewList(list, GL11.GL_COMPILE);
+				tessellator.draw();
+				GlStateManager.glEndList();
+				return new Batch(null, list);
+			}
+		}
+
+		void draw() {
+			if (buffer != null) {
+				buffer.bindBuffer();
+				GlStateManager.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+				GlStateManager.glEnableClientState(GL11.GL_COLOR_ARRAY);
+				GlStateManager.glVertexPointer(3, GL11.GL_FLOAT, 16, 0);
+				GlStateManager.glColorPointer(4, GL11.GL_UNSIGNED_BYTE, 16, 12);
+
+				buffer.drawArrays(GL11.GL_TRIANGLES);
+
+				buffer.unbindBuffer();
+				GlStateManager.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+				GlStateManager.glDisableClientState(GL11.GL_COLOR_ARRAY);
+				GlStateManager.resetColor();
+			} else {
+				GlStateManager.callList(list);
+			}
+		}
+
+		void delete() {
+			if (buffer != null) {
+				buffer.deleteGlBuffers();
+			} else {
+				GLAllocation.deleteDisplayLists(list);
+			}
 		}
 	}
 }
@@ -2,10 +2,13 @@ package org.squiddev.plethora.gameplay.modules.glasses;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
@@ -15,6 +18,7 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.squiddev.plethora.gameplay.ConfigGameplay;
 import org.squiddev.plethora.gameplay.Plethora;
 import org.squiddev.plethora.gameplay.modules.PlethoraModules;
 import org.squiddev.plethora.gameplay.neural.NeuralHelpers;
@@ -38,6 +42,8 @@ public final class CanvasHandler {
 
 	private static final Int2ObjectMap<CanvasClient> client = new Int2ObjectOpenHashMap<>();
 
+	private static int tick;
+
 	private CanvasHandler() {
 	}
 
@@ -69,6 +75,10 @@ public final class CanvasHandler {
 		synchronized (client) {
 			client.remove(canvas.id);
 		}
+
+		synchronized (canvas) {
+			canvas.release();
+		}
 	}
 
 	public static CanvasClient getClient(int id) {
@@ -82,6 +92,11 @@ public final class CanvasHandler {
 			server.clear();
 		}
 		synchronized (client) {
+			for (CanvasClient canvas : client.values()) {
+				synchronized (canvas) {
+					canvas.release();
+				}
+			}
 			client.clear();
 		}
 	}
@@ -90,11 +105,29 @@ public final class CanvasHandler {
 	public static void update(TickEvent.ServerTickEvent event) {
 		if (event.phase != TickEvent.Phase.START) return;
 
+		tick++;
+		int budget = ConfigGameplay.Glasses.bandwidthBudget;
+
 		synchronized (server) {
+			// A player may have several canvases, so we share one budget between all of them.
+			Object2IntMap<EntityPlayerMP> used = new Object2IntOpenHashMap<>();
 			for (CanvasServer canvas : server) {
-				MessageCanvasUpdate update = canvas.getUpdateMessage();
+				EntityPlayerMP player = canvas.getPlayer();
+				int remaining = budget;
+				if (budget > 0) {
+					remaining = budget - used.getInt(player);
+					if (remaining <= 0) continue;
+				}
+
+				MessageCanvasUpdate update = canvas.getUpdateMessage(remaining);
 				if (update != null) {
-					Plethora.network.sendTo(update, canvas.getPlayer());
+					int size = update.getSize();
+					used.put(player, used.getInt(player) + size);
+					Plethora.network.sendTo(update, player);
+
+					if (Plethora.LOG.isDebugEnabled()) {
+						Plethora.LOG.debug("Sent {} bytes of canvas updates to {} on tick {}", size, player.getName(), tick);
+					}
 				}
 			}
 		}
@@ -127,6 +160,8 @@ public final class CanvasHandler {
 	public static void render2DOverlay(RenderGameOverlayEvent.Post event) {
 		if (event.getType() != RenderGameOverlayEvent.ElementType.HELMET) return;
 
+		CanvasClient.deleteReleased();
+
 		CanvasClient canvas = getCanvas();
 		if (canvas == null) return;
 
@@ -143,7 +178,7 @@ public final class CanvasHandler {
 		GlStateManager.scale(resolution.getScaledWidth_double() / WIDTH, resolution.getScaledHeight_double() / HEIGHT, 2);
 
 		synchronized (canvas) {
-			canvas.drawChildren(canvas.getChildren(ID_2D).iterator());
+			canvas.drawChildren(ID_2D);
 		}
 
 		GlStateManager.color(1.0f, 1.0f, 1.0f);
@@ -160,7 +195,7 @@ public final class CanvasHandler {
 		if (canvas == null) return;
 
 		synchronized (canvas) {
-			canvas.drawChildren(canvas.getChildren(ID_3D).iterator());
+			canvas.drawChildren(ID_3D);
 		}
 
 		GlStateManager.color(1.0f, 1.0f, 1.0f);
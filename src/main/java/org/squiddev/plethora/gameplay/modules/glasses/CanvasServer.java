@@ -1,5 +1,7 @@
 package org.squiddev.plethora.gameplay.modules.glasses;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.*;
 import net.minecraft.entity.player.EntityPlayerMP;
 import org.squiddev.plethora.api.IAttachable;
@@ -11,9 +13,6 @@ import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectGroup;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.ID_2D;
@@ -29,6 +28,16 @@ public final class CanvasServer implements ConstantReference<CanvasServer>, IAtt
 
 	private final IntSet removed = new IntOpenHashSet();
 
+	/**
+	 * Objects which have been sent to the client. Any dirty object not in this set must be sent in full.
+	 */
+	private final IntSet sent = new IntOpenHashSet();
+
+	/**
+	 * The last changed object sent in a partial update, or {@code -1} if the last update was complete.
+	 */
+	private int lastChanged = -1;
+
 	private final AtomicInteger lastId = new AtomicInteger(ID_3D);
 
 	private final ObjectGroup.Frame2D group2D = () -> ID_2D;
@@ -71,6 +80,11 @@ public final class CanvasServer implements ConstantReference<CanvasServer>, IAtt
 
 	@Nonnull
 	synchronized MessageCanvasAdd getAddMessage() {
+		for (BaseObject object : objects.values()) {
+			object.pollDirty();
+			object.onSent(BaseObject.ALL_FIELDS);
+			sent.add(object.id());
+		}
 		return new MessageCanvasAdd(canvasId, objects.values().toArray(new BaseObject[objects.size()]));
 	}
 
@@ -79,28 +93,108 @@ public final class CanvasServer implements ConstantReference<CanvasServer>, IAtt
 		return new MessageCanvasRemove(canvasId);
 	}
 
+	/**
+	 * Build a message containing all changes since the last update, or as many as will fit in the given budget.
+	 *
+	 * New objects are sent first, in order of creation so parents are always sent before their children. Changed
+	 * objects are then sent in ID order, starting from where the previous update stopped, so no object is starved.
+	 * Objects which do not fit remain dirty, and so any further changes will be merged into them.
+	 *
+	 * @param budget The maximum size of the message in bytes, or {@code 0} for no limit. At least one object will
+	 *               always be sent.
+	 * @return The update message, or {@code null} if there is nothing to send.
+	 */
 	@Nullable
-	synchronized MessageCanvasUpdate getUpdateMessage() {
-		List<BaseObject> changed = null;
+	synchronized MessageCanvasUpdate getUpdateMessage(int budget) {
+		IntList added = null, changed = null;
 		for (BaseObject object : objects.values()) {
-			if (object.pollDirty()) {
-				if (changed == null) changed = new ArrayList<>();
-				changed.add(object);
+			if (!object.isDirty()) continue;
+
+			if (!sent.contains(object.id())) {
+				if (added == null) added = new IntArrayList();
+				added.add(object.id());
+			} else {
+				if (changed == null) changed = new IntArrayList();
+				changed.add(object.id());
 			}
 		}
 
-		if (changed == null && removed.isEmpty()) return null;
+		if (added == null && changed == null && removed.isEmpty()) return null;
+
+		int limit = budget <= 0 ? Integer.MAX_VALUE : Math.max(0, budget - MessageCanvasUpdate.getOverhead(removed.size()));
+
+		// We serialise changes immediately, as we need to know exactly which fields have changed since the last update.
+		ByteBuf buffer = Unpooled.buffer();
+		int count = 0;
+		boolean full = false;
+
+		if (added != null) {
+			IntArrays.quickSort(added.elements(), 0, added.size());
+			for (int i = 0; i < added.size() && !full; i++) {
+				int id = added.getInt(i);
+				if (write(buffer, objects.get(id), limit, count)) {
+					sent.add(id);
+					count++;
+				} else {
+					full = true;
+				}
+			}
+		}
+
+		if (changed != null && !full) {
+			int[] ids = changed.elements();
+			int size = changed.size();
+			IntArrays.quickSort(ids, 0, size);
+
+			// Resume from the first object after the one we stopped at last time.
+			int start = 0;
+			while (start < size && ids[start] <= lastChanged) start++;
+
+			for (int i = 0; i < size && !full; i++) {
+				int id = ids[(start + i) % size];
+				if (write(buffer, objects.get(id), limit, count)) {
+					lastChanged = id;
+					count++;
+				} else {
+					full = true;
+				}
+			}
+		}
+
+		if (!full) lastChanged = -1;
+
+		if (count == 0 && removed.isEmpty()) return null;
 
-		if (changed == null) changed = Collections.emptyList();
 		MessageCanvasUpdate message = new MessageCanvasUpdate(
-			canvasId, changed, removed.toIntArray()
+			canvasId, count, count == 0 ? Unpooled.EMPTY_BUFFER : buffer, removed.toIntArray()
 		);
 
+		sent.removeAll(removed);
 		removed.clear();
 
 		return message;
 	}
 
+	/**
+	 * Write an object's changes to the buffer, if they fit within the limit.
+	 *
+	 * @return Whether the object was written. If not, the object is left dirty.
+	 */
+	private static boolean write(ByteBuf buffer, BaseObject object, int limit, int count) {
+		int start = buffer.writerIndex();
+		int fields = object.pollDirty();
+		MessageCanvasUpdate.writeChange(buffer, object, fields);
+
+		if (count > 0 && buffer.writerIndex() > limit) {
+			buffer.writerIndex(start);
+			object.setDirty(fields);
+			return false;
+		}
+
+		object.onSent(fields);
+		return true;
+	}
+
 	public synchronized void add(@Nonnull BaseObject object) {
 		IntSet parent = childrenOf.get(object.parent());
 		if (parent == null) throw new IllegalArgumentException("No such parent");
@@ -1,39 +1,109 @@
 package org.squiddev.plethora.gameplay.modules.glasses;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import org.squiddev.plethora.gameplay.Plethora;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectRegistry;
 import org.squiddev.plethora.gameplay.registry.BasicMessage;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Sends changes to a canvas' objects.
+ *
+ * New objects are sent in full. Existing objects only send the fields which have changed since the last update, as
+ * determined by {@link BaseObject#writeFields(ByteBuf, int)}. As we cannot decode these fields without the object they
+ * belong to, they are prefixed with their length and only read once we have found the existing object.
+ */
 public class MessageCanvasUpdate implements BasicMessage {
 	private int canvasId;
-	private List<BaseObject> changed;
 	private int[] removed;
 
-	public MessageCanvasUpdate(int canvasId, List<BaseObject> changed, int[] removed) {
+	// Only used on the server
+	private int changedCount;
+	private ByteBuf changedData;
+
+	// Only used on the client
+	private List<BaseObject> added;
+	private List<Delta> changed;
+
+	public MessageCanvasUpdate(int canvasId, int changedCount, ByteBuf changedData, int[] removed) {
 		this.canvasId = canvasId;
-		this.changed = changed;
+		this.changedCount = changedCount;
+		this.changedData = changedData;
 		this.removed = removed;
 	}
 
 	public MessageCanvasUpdate() {
 	}
 
+	/**
+	 * Get the size of this message, once written.
+	 *
+	 * @return The size of this message in bytes.
+	 */
+	int getSize() {
+		return getOverhead(removed.length) + changedData.readableBytes();
+	}
+
+	/**
+	 * Get the number of bytes a message uses, excluding its changed objects.
+	 *
+	 * @param removedCount The number of removed objects.
+	 * @return The size of this message's header and removed objects.
+	 */
+	static int getOverhead(int removedCount) {
+		return 4 + 4 + 4 + removedCount * 4;
+	}
+
+	/**
+	 * Write a changed object to a buffer, in the format expected by {@link #fromBytes(ByteBuf)}.
+	 *
+	 * @param buf    The buffer to write to.
+	 * @param object The object which has changed.
+	 * @param fields The fields which have changed, or {@link BaseObject#ALL_FIELDS} if this is a new object.
+	 */
+	static void writeChange(ByteBuf buf, BaseObject object, int fields) {
+		if (fields == BaseObject.ALL_FIELDS) {
+			buf.writeBoolean(true);
+			ObjectRegistry.write(buf, object);
+		} else {
+			buf.writeBoolean(false);
+			ByteBufUtils.writeVarInt(buf, object.id(), 5);
+			ByteBufUtils.writeVarInt(buf, fields, 5);
+
+			ByteBuf data = Unpooled.buffer();
+			object.writeFields(data, fields);
+			ByteBufUtils.writeVarInt(buf, data.readableBytes(), 5);
+			buf.writeBytes(data);
+		}
+	}
+
 	@Override
 	public void fromBytes(ByteBuf buf) {
 		canvasId = buf.readInt();
 
 		int changedLength = buf.readInt();
-		List<BaseObject> changed = this.changed = new ArrayList<>(changedLength);
+		List<BaseObject> added = this.added = new ArrayList<>();
+		List<Delta> changed = this.changed = new ArrayList<>();
 		for (int i = 0; i < changedLength; i++) {
-			changed.add(ObjectRegistry.read(buf));
+			if (buf.readBoolean()) {
+				added.add(ObjectRegistry.read(buf));
+			} else {
+				int id = ByteBufUtils.readVarInt(buf, 5);
+				int fields = ByteBufUtils.readVarInt(buf, 5);
+				int length = ByteBufUtils.readVarInt(buf, 5);
+				byte[] data = new byte[length];
+				buf.readBytes(data);
+				changed.add(new Delta(id, fields, data));
+			}
 		}
 
 		// We sort on ID in order to guarantee parents are loaded before their children
-		changed.sort(BaseObject.SORTING_ORDER);
+		added.sort(BaseObject.SORTING_ORDER);
 
 		int removedLength = buf.readInt();
 		int[] removed = this.removed = new int[removedLength];
@@ -46,10 +116,8 @@ public class MessageCanvasUpdate implements BasicMessage {
 	public void toBytes(ByteBuf buf) {
 		buf.writeInt(canvasId);
 
-		buf.writeInt(changed.size());
-		for (BaseObject object : changed) {
-			ObjectRegistry.write(buf, object);
-		}
+		buf.writeInt(changedCount);
+		buf.writeBytes(changedData, changedData.readerIndex(), changedData.readableBytes());
 
 		buf.writeInt(removed.length);
 		for (int id : removed) {
@@ -63,8 +131,30 @@ public class MessageCanvasUpdate implements BasicMessage {
 		if (canvas == null) return;
 
 		synchronized (canvas) {
-			for (BaseObject obj : changed) canvas.updateObject(obj);
+			for (BaseObject obj : added) canvas.updateObject(obj);
+			for (Delta delta : changed) {
+				BaseObject object = canvas.getObject(delta.id);
+				if (object == null) {
+					Plethora.LOG.error("Trying to update missing object " + delta.id);
+					continue;
+				}
+
+				object.readFields(Unpooled.wrappedBuffer(delta.data), delta.fields);
+				canvas.markDirty(object);
+			}
 			for (int id : removed) canvas.remove(id);
 		}
 	}
+
+	private static final class Delta {
+		final int id;
+		final int fields;
+		final byte[] data;
+
+		Delta(int id, int fields, byte[] data) {
+			this.id = id;
+			this.fields = fields;
+			this.data = data;
+		}
+	}
 }
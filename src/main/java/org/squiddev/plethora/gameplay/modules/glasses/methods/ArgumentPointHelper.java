@@ -27,7 +27,7 @@ public final class ArgumentPointHelper {
 		return getVec2d(getTable(args, index));
 	}
 
-	private static Vec2d getVec2d(Map<?, ?> point) throws LuaException {
+	static Vec2d getVec2d(Map<?, ?> point) throws LuaException {
 		Object xObj, yObj;
 		if (point.containsKey("x")) {
 			xObj = point.get("x");
@@ -46,7 +46,7 @@ public final class ArgumentPointHelper {
 		return new Vec2d(((Number) xObj).doubleValue(), ((Number) yObj).doubleValue());
 	}
 
-	private static Vec3d getVec3d(Map<?, ?> point) throws LuaException {
+	static Vec3d getVec3d(Map<?, ?> point) throws LuaException {
 		Object xObj, yObj, zObj;
 		if (point.containsKey("x")) {
 			xObj = point.get("x");
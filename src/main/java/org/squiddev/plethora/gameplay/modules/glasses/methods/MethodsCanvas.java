@@ -1,5 +1,6 @@
 package org.squiddev.plethora.gameplay.modules.glasses.methods;
 
+import dan200.computercraft.api.lua.LuaException;
 import org.squiddev.plethora.api.method.IContext;
 import org.squiddev.plethora.api.method.TypedLuaObject;
 import org.squiddev.plethora.api.method.wrapper.FromContext;
@@ -10,7 +11,14 @@ import org.squiddev.plethora.api.module.IModuleContainer;
 import org.squiddev.plethora.gameplay.modules.glasses.BaseObject;
 import org.squiddev.plethora.gameplay.modules.glasses.CanvasServer;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectGroup;
+import org.squiddev.plethora.utils.LuaArray;
 
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.squiddev.plethora.api.method.ArgumentHelper.badObjectType;
 import static org.squiddev.plethora.gameplay.modules.PlethoraModules.GLASSES_S;
 
 public final class MethodsCanvas {
@@ -36,4 +44,73 @@ public final class MethodsCanvas {
 	public static void remove(@FromTarget BaseObject object, @FromContext CanvasServer canvas) {
 		canvas.remove(object);
 	}
+
+	@PlethoraMethod(worldThread = false,
+		doc = "function(objects:table) -- Update many objects at once. This takes a table mapping object ids to tables of properties to set."
+	)
+	public static void updateObjects(@FromTarget ObjectGroup group, @FromContext CanvasServer canvas, Map<?, ?> updates) throws LuaException {
+		// We hold the canvas' lock throughout, so every change is sent in the same update.
+		synchronized (canvas) {
+			List<Runnable> changes = new ArrayList<>();
+			for (Map.Entry<?, ?> entry : updates.entrySet()) {
+				if (!(entry.getKey() instanceof Number)) throw badObjectType("objects", "table with numeric keys", entry.getKey());
+				if (!(entry.getValue() instanceof Map)) throw badObjectType("objects", "table of tables", entry.getValue());
+
+				int id = ((Number) entry.getKey()).intValue();
+				BaseObject object = canvas.getObject(id);
+				if (object == null || !isWithin(canvas, object, group.id())) throw new LuaException("No such object " + id);
+
+				changes.addAll(ObjectProperties.parse(object, (Map<?, ?>) entry.getValue()));
+			}
+
+			for (Runnable change : changes) change.run();
+		}
+	}
+
+	/**
+	 * Create many objects at once, adding them all to the canvas in the same update.
+	 *
+	 * @param canvas  The canvas to add to.
+	 * @param parent  The group to add these objects to.
+	 * @param specs   A list of object specifications.
+	 * @param factory The factory used to create each object.
+	 * @return A list of the created objects' IDs.
+	 * @throws LuaException If any specification is malformed. In this case no objects are added.
+	 */
+	@Nonnull
+	static Map<Integer, Integer> addObjects(@Nonnull CanvasServer canvas, int parent, @Nonnull Map<?, ?> specs, @Nonnull ObjectProperties.Factory factory) throws LuaException {
+		int size = specs.size();
+		ObjectProperties.Builder[] builders = new ObjectProperties.Builder[size];
+		for (int i = 0; i < size; i++) {
+			Object spec = specs.get((double) (i + 1));
+			if (!(spec instanceof Map)) throw badObjectType("objects", "list of tables", spec);
+
+			builders[i] = factory.prepare(parent, (Map<?, ?>) spec);
+		}
+
+		// Only allocate IDs once every specification has been validated.
+		BaseObject[] objects = new BaseObject[size];
+		int[] ids = new int[size];
+		for (int i = 0; i < size; i++) {
+			BaseObject object = objects[i] = builders[i].build(canvas.newObjectId());
+			ids[i] = object.id();
+		}
+
+		synchronized (canvas) {
+			for (BaseObject object : objects) canvas.add(object);
+		}
+
+		return LuaArray.ofInts(ids, size);
+	}
+
+	private static boolean isWithin(@Nonnull CanvasServer canvas, @Nonnull BaseObject object, int group) {
+		int parent = object.parent();
+		while (parent != group) {
+			BaseObject parentObject = canvas.getObject(parent);
+			if (parentObject == null) return false;
+			parent = parentObject.parent();
+		}
+
+		return true;
+	}
 }
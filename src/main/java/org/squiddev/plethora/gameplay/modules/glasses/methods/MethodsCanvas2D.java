@@ -15,6 +15,8 @@ import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectGroup.Group2
 import org.squiddev.plethora.gameplay.modules.glasses.objects.object2d.*;
 import org.squiddev.plethora.utils.Vec2d;
 
+import java.util.Map;
+
 import static dan200.computercraft.core.apis.ArgumentHelper.optInt;
 import static org.squiddev.plethora.api.method.ArgumentHelper.optFloat;
 import static org.squiddev.plethora.gameplay.modules.glasses.methods.ArgumentPointHelper.getVec2d;
@@ -182,6 +184,14 @@ public final class MethodsCanvas2D {
 		return baked.makeChild(newGroup, canvas.reference(newGroup)).getObject();
 	}
 
+	@PlethoraMethod(worldThread = false,
+		doc = "function(objects:table):table -- Create many objects at once, returning their ids. Each object is a table "
+			+ "containing its type (rectangle, line, dot, text, triangle, polygon, lines, item or group) and any properties to set."
+	)
+	public static Map<Integer, Integer> addObjects(@FromTarget Group2D group, @FromContext CanvasServer canvas, Map<?, ?> objects) throws LuaException {
+		return MethodsCanvas.addObjects(canvas, group.id(), objects, ObjectProperties::create2D);
+	}
+
 	@PlethoraMethod(doc = "function():number, number -- Get the size of this canvas.", worldThread = false)
 	public static MethodResult getSize(@FromTarget Frame2D target) {
 		return MethodResult.result(target.getWidth(), target.getHeight());
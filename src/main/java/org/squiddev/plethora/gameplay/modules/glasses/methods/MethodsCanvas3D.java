@@ -8,6 +8,7 @@ import org.squiddev.plethora.api.method.ContextKeys;
 import org.squiddev.plethora.api.method.IContext;
 import org.squiddev.plethora.api.method.TypedLuaObject;
 import org.squiddev.plethora.api.method.wrapper.FromContext;
+import org.squiddev.plethora.api.method.wrapper.FromTarget;
 import org.squiddev.plethora.api.method.wrapper.Optional;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.gameplay.modules.glasses.CanvasServer;
@@ -16,6 +17,8 @@ import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectGroup.Group3
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectGroup.Origin3D;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.object3d.*;
 
+import java.util.Map;
+
 import static dan200.computercraft.core.apis.ArgumentHelper.optInt;
 import static org.squiddev.plethora.api.method.ArgumentHelper.getFloat;
 import static org.squiddev.plethora.api.method.ArgumentHelper.optFloat;
@@ -121,4 +124,12 @@ public final class MethodsCanvas3D {
 		canvas.add(model);
 		return baked.makeChild(model, canvas.reference(model)).getObject();
 	}
+
+	@PlethoraMethod(worldThread = false,
+		doc = "function(objects:table):table -- Create many objects at once, returning their ids. Each object is a table "
+			+ "containing its type (box, line, item or frame) and any properties to set."
+	)
+	public static Map<Integer, Integer> addObjects(@FromTarget Group3D group, @FromContext CanvasServer canvas, Map<?, ?> objects) throws LuaException {
+		return MethodsCanvas.addObjects(canvas, group.id(), objects, ObjectProperties::create3D);
+	}
 }
@@ -0,0 +1,395 @@
+package org.squiddev.plethora.gameplay.modules.glasses.methods;
+
+import dan200.computercraft.api.lua.LuaException;
+import net.minecraft.item.Item;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.Vec3d;
+import org.squiddev.plethora.gameplay.modules.glasses.BaseObject;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.Colourable;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.ItemObject;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.Scalable;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.TextObject;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.object2d.*;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.object3d.*;
+import org.squiddev.plethora.utils.Vec2d;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.squiddev.plethora.api.method.ArgumentHelper.badObject;
+import static org.squiddev.plethora.api.method.ArgumentHelper.badObjectType;
+import static org.squiddev.plethora.api.method.ArgumentHelper.numberType;
+
+/**
+ * Creates and modifies canvas objects from tables of properties, as used by the bulk canvas methods.
+ *
+ * Properties are parsed into a list of changes before anything is modified, so a malformed table never leaves an
+ * object half-updated.
+ */
+final class ObjectProperties {
+	private ObjectProperties() {
+	}
+
+	@FunctionalInterface
+	interface Factory {
+		@Nonnull
+		Builder prepare(int parent, @Nonnull Map<?, ?> spec) throws LuaException;
+	}
+
+	@FunctionalInterface
+	interface Builder {
+		@Nonnull
+		BaseObject build(int id) throws LuaException;
+	}
+
+	/**
+	 * Validate a 2D object's specification, returning a builder which creates it.
+	 *
+	 * @param parent The group this object belongs to.
+	 * @param spec   A table containing the object's {@code type} and any other properties.
+	 * @return A builder for this object. Created objects have not been added to the canvas.
+	 * @throws LuaException If the specification is malformed.
+	 */
+	@Nonnull
+	static Builder create2D(int parent, @Nonnull Map<?, ?> spec) throws LuaException {
+		String type = getType(spec);
+		Builder builder;
+		switch (type) {
+			case "rectangle":
+				builder = id -> new Rectangle(id, parent);
+				break;
+			case "line":
+				builder = id -> new Line(id, parent);
+				break;
+			case "dot":
+				builder = id -> new Dot(id, parent);
+				break;
+			case "text":
+				builder = id -> new Text(id, parent);
+				break;
+			case "triangle":
+				builder = id -> new Triangle(id, parent);
+				break;
+			case "polygon":
+				builder = id -> new Polygon(id, parent);
+				break;
+			case "lines":
+				builder = id -> new LineLoop(id, parent);
+				break;
+			case "item":
+				builder = id -> {
+					Item2D object = new Item2D(id, parent);
+					object.setScale(1);
+					return object;
+				};
+				break;
+			case "group":
+				builder = id -> new ObjectGroup2D(id, parent);
+				break;
+			default:
+				throw new LuaException("Unknown object type '" + type + "'");
+		}
+
+		return prepare(builder, spec);
+	}
+
+	/**
+	 * Validate a 3D object's specification, returning a builder which creates it.
+	 *
+	 * @param parent The group this object belongs to.
+	 * @param spec   A table containing the object's {@code type} and any other properties.
+	 * @return A builder for this object. Created objects have not been added to the canvas.
+	 * @throws LuaException If the specification is malformed.
+	 * @see #create2D(int, Map)
+	 */
+	@Nonnull
+	static Builder create3D(int parent, @Nonnull Map<?, ?> spec) throws LuaException {
+		String type = getType(spec);
+		Builder builder;
+		switch (type) {
+			case "box":
+				builder = id -> {
+					Box object = new Box(id, parent);
+					object.setPosition(Vec3d.ZERO);
+					object.setSize(1, 1, 1);
+					return object;
+				};
+				break;
+			case "line":
+				builder = id -> new Line3D(id, parent);
+				break;
+			case "item":
+				builder = id -> {
+					Item3D object = new Item3D(id, parent);
+					object.setScale(1);
+					return object;
+				};
+				break;
+			case "frame":
+				builder = id -> new ObjectFrame(id, parent);
+				break;
+			default:
+				throw new LuaException("Unknown object type '" + type + "'");
+		}
+
+		return prepare(builder, spec);
+	}
+
+	@Nonnull
+	private static Builder prepare(@Nonnull Builder builder, @Nonnull Map<?, ?> spec) throws LuaException {
+		// Apply the specification to a throwaway object first, so a malformed table is rejected before we allocate
+		// an ID for it.
+		setup(builder.build(0), spec);
+		return id -> setup(builder.build(id), spec);
+	}
+
+	@Nonnull
+	private static String getType(@Nonnull Map<?, ?> spec) throws LuaException {
+		Object type = spec.get("type");
+		if (!(type instanceof String)) throw badObjectType("type", "string", type);
+		return (String) type;
+	}
+
+	@Nonnull
+	private static BaseObject setup(@Nonnull BaseObject object, @Nonnull Map<?, ?> spec) throws LuaException {
+		// The object is not yet visible to anything else, so we can apply these immediately.
+		for (Runnable change : parse(object, spec)) change.run();
+
+		if (object instanceof ItemObject && !spec.containsKey("item")) throw badObjectType("item", "string", null);
+		if (hasFixedPoints(object) && !spec.containsKey("points")) throw badObjectType("points", "table", null);
+		return object;
+	}
+
+	/**
+	 * Whether this object has a fixed number of vertices, which must all be given when it is created.
+	 *
+	 * @param object The object to check.
+	 * @return If this object requires {@code points}.
+	 */
+	private static boolean hasFixedPoints(@Nonnull BaseObject object) {
+		return object instanceof MultiPoint3D
+			|| (object instanceof MultiPoint2D && !(object instanceof MultiPointResizable2D));
+	}
+
+	/**
+	 * Parse a table of properties into a series of changes to an object. Unknown properties, or those which do not
+	 * apply to this object, are an error. The {@code type} key is ignored.
+	 *
+	 * @param object     The object to modify.
+	 * @param properties The properties to set.
+	 * @return The changes to apply to this object.
+	 * @throws LuaException If any property is malformed.
+	 */
+	@Nonnull
+	static List<Runnable> parse(@Nonnull BaseObject object, @Nonnull Map<?, ?> properties) throws LuaException {
+		List<Runnable> changes = new ArrayList<>(properties.size());
+		for (Map.Entry<?, ?> entry : properties.entrySet()) {
+			if (!(entry.getKey() instanceof String)) throw badObjectType("properties", "table with string keys", entry.getKey());
+
+			String key = (String) entry.getKey();
+			Runnable change = parse(object, key, entry.getValue());
+			if (change != null) changes.add(change);
+		}
+
+		return changes;
+	}
+
+	@Nullable
+	private static Runnable parse(@Nonnull BaseObject object, @Nonnull String key, @Nullable Object value) throws LuaException {
+		switch (key) {
+			case "type":
+				return null;
+
+			case "position":
+				if (object instanceof Positionable2D) {
+					Vec2d position = getVec2d(key, value);
+					return () -> ((Positionable2D) object).setPosition(position);
+				} else if (object instanceof Positionable3D) {
+					Vec3d position = getVec3d(key, value);
+					return () -> ((Positionable3D) object).setPosition(position);
+				}
+				break;
+
+			case "colour":
+			case "color":
+				if (object instanceof Colourable) {
+					int colour = (int) (long) getNumber(key, value);
+					return () -> ((Colourable) object).setColour(colour);
+				}
+				break;
+
+			case "scale":
+				if (object instanceof Scalable) {
+					float scale = (float) getNumber(key, value);
+					if (scale <= 0) throw new LuaException("Scale must be > 0");
+					return () -> ((Scalable) object).setScale(scale);
+				}
+				break;
+
+			case "size":
+				if (object instanceof Rectangle) {
+					Vec2d size = getVec2d(key, value);
+					return () -> ((Rectangle) object).setSize((float) size.x, (float) size.y);
+				} else if (object instanceof Box) {
+					Vec3d size = getVec3d(key, value);
+					return () -> ((Box) object).setSize(size.x, size.y, size.z);
+				}
+				break;
+
+			case "points":
+				if (object instanceof MultiPoint2D) {
+					return getPoints2D((MultiPoint2D) object, key, value);
+				} else if (object instanceof MultiPoint3D) {
+					return getPoints3D((MultiPoint3D) object, key, value);
+				}
+				break;
+
+			case "text":
+				if (object instanceof TextObject) {
+					if (!(value instanceof String)) throw badObjectType(key, "string", value);
+					String text = (String) value;
+					if (text.length() > 512) throw new LuaException("string length out of bounds (" + text.length() + ")");
+					return () -> ((TextObject) object).setText(text);
+				}
+				break;
+
+			case "shadow":
+				if (object instanceof TextObject) {
+					boolean shadow = getBoolean(key, value);
+					return () -> ((TextObject) object).setShadow(shadow);
+				}
+				break;
+
+			case "lineHeight":
+				if (object instanceof TextObject) {
+					short height = (short) getNumber(key, value);
+					return () -> ((TextObject) object).setLineHeight(height);
+				}
+				break;
+
+			case "item":
+				if (object instanceof ItemObject) {
+					Item item = getItem(key, value);
+					return () -> ((ItemObject) object).setItem(item);
+				}
+				break;
+
+			case "damage":
+				if (object instanceof ItemObject) {
+					int damage = (int) getNumber(key, value);
+					return () -> ((ItemObject) object).setDamage(damage);
+				}
+				break;
+
+			case "depthTested":
+				if (object instanceof DepthTestable) {
+					boolean depthTest = getBoolean(key, value);
+					return () -> ((DepthTestable) object).setDepthTest(depthTest);
+				}
+				break;
+
+			case "rotation":
+				if (object instanceof Rotatable3D) {
+					// Lua tables cannot contain nil, so we use false to make the object face the player.
+					Vec3d rotation = Boolean.FALSE.equals(value) ? null : getVec3d(key, value);
+					return () -> ((Rotatable3D) object).setRotation(rotation);
+				}
+				break;
+		}
+
+		throw new LuaException("Unknown property '" + key + "'");
+	}
+
+	@Nonnull
+	private static Runnable getPoints2D(@Nonnull MultiPoint2D object, @Nonnull String key, @Nullable Object value) throws LuaException {
+		List<Vec2d> points = new ArrayList<>();
+		for (Object point : getList(key, value)) points.add(getVec2d(key, point));
+
+		if (object instanceof MultiPointResizable2D) {
+			if (points.size() > MultiPointResizable2D.MAX_SIZE) throw new LuaException("To many vertices");
+
+			MultiPointResizable2D resizable = (MultiPointResizable2D) object;
+			return () -> {
+				// Reuse existing vertices where possible, so we only send the ones which have changed.
+				int common = Math.min(resizable.getVertices(), points.size());
+				for (int i = 0; i < common; i++) resizable.setVertex(i, points.get(i));
+				while (resizable.getVertices() > points.size()) resizable.removePoint(resizable.getVertices() - 1);
+				for (int i = resizable.getVertices(); i < points.size(); i++) resizable.addPoint(i, points.get(i));
+			};
+		} else {
+			if (points.size() != object.getVertices()) {
+				throw new LuaException("Expected " + object.getVertices() + " points, got " + points.size());
+			}
+
+			return () -> {
+				for (int i = 0; i < points.size(); i++) object.setVertex(i, points.get(i));
+			};
+		}
+	}
+
+	@Nonnull
+	private static Runnable getPoints3D(@Nonnull MultiPoint3D object, @Nonnull String key, @Nullable Object value) throws LuaException {
+		List<Vec3d> points = new ArrayList<>();
+		for (Object point : getList(key, value)) points.add(getVec3d(key, point));
+
+		if (points.size() != object.getVertices()) {
+			throw new LuaException("Expected " + object.getVertices() + " points, got " + points.size());
+		}
+
+		return () -> {
+			for (int i = 0; i < points.size(); i++) object.setVertex(i, points.get(i));
+		};
+	}
+
+	@Nonnull
+	private static List<Object> getList(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (!(value instanceof Map)) throw badObjectType(key, "table", value);
+		Map<?, ?> table = (Map<?, ?>) value;
+
+		List<Object> result = new ArrayList<>(table.size());
+		for (int i = 1; i <= table.size(); i++) {
+			Object child = table.get((double) i);
+			if (child == null) throw badObjectType(key, "list", value);
+			result.add(child);
+		}
+		return result;
+	}
+
+	@Nonnull
+	private static Vec2d getVec2d(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (!(value instanceof Map)) throw badObjectType(key, "table", value);
+		return ArgumentPointHelper.getVec2d((Map<?, ?>) value);
+	}
+
+	@Nonnull
+	private static Vec3d getVec3d(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (!(value instanceof Map)) throw badObjectType(key, "table", value);
+		return ArgumentPointHelper.getVec3d((Map<?, ?>) value);
+	}
+
+	private static double getNumber(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (!(value instanceof Number)) throw badObjectType(key, "number", value);
+
+		double number = ((Number) value).doubleValue();
+		if (Double.isNaN(number) || Double.isInfinite(number)) throw badObject(key, "number", numberType(number));
+		return number;
+	}
+
+	private static boolean getBoolean(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (!(value instanceof Boolean)) throw badObjectType(key, "boolean", value);
+		return (Boolean) value;
+	}
+
+	@Nonnull
+	private static Item getItem(@Nonnull String key, @Nullable Object value) throws LuaException {
+		if (!(value instanceof String)) throw badObjectType(key, "string", value);
+
+		ResourceLocation name = new ResourceLocation((String) value);
+		Item item = Item.REGISTRY.getObject(name);
+		if (item == null || !Item.REGISTRY.containsKey(name)) throw new LuaException("Unknown item '" + value + "'");
+		return item;
+	}
+}
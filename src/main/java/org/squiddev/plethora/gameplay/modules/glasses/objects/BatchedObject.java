@@ -0,0 +1,36 @@
+package org.squiddev.plethora.gameplay.modules.glasses.objects;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.opengl.GL11;
+import org.squiddev.plethora.gameplay.modules.glasses.BaseObject;
+
+/**
+ * An object which can be drawn as part of a batch, rather than drawing it on its own.
+ *
+ * Consecutive batched objects within a group are compiled into a single vertex buffer.
+ */
+public interface BatchedObject {
+	/**
+	 * Whether this object can currently be drawn as part of a batch. This allows subclasses of batched objects to opt
+	 * out of batching.
+	 *
+	 * @return If this object can be batched.
+	 */
+	@SideOnly(Side.CLIENT)
+	default boolean canBatch() {
+		return true;
+	}
+
+	/**
+	 * Draw this object into a shared buffer of {@link GL11#GL_TRIANGLES}, using the
+	 * {@link DefaultVertexFormats#POSITION_COLOR} format. The buffer is drawn with the state set up by
+	 * {@link BaseObject#setupFlat()}.
+	 *
+	 * @param buffer The buffer to draw to.
+	 */
+	@SideOnly(Side.CLIENT)
+	void drawBatched(BufferBuilder buffer);
+}
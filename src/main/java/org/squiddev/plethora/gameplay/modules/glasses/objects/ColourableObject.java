@@ -4,6 +4,11 @@ import io.netty.buffer.ByteBuf;
 import org.squiddev.plethora.gameplay.modules.glasses.BaseObject;
 
 public abstract class ColourableObject extends BaseObject implements Colourable {
+	/**
+	 * The field for this object's colour. Subclasses should allocate their fields starting from {@code 1 << 1}.
+	 */
+	protected static final int FIELD_COLOUR = 1;
+
 	private int colour = DEFAULT_COLOUR;
 
 	public ColourableObject(int id, int parent, byte type) {
@@ -19,7 +24,7 @@ public abstract class ColourableObject extends BaseObject implements Colourable
 	public final void setColour(int colour) {
 		if (this.colour != colour) {
 			this.colour = colour;
-			setDirty();
+			setDirty(FIELD_COLOUR);
 		}
 	}
 
@@ -40,12 +45,12 @@ public abstract class ColourableObject extends BaseObject implements Colourable
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		buf.writeInt(colour);
+	public void writeFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_COLOUR) != 0) buf.writeInt(colour);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		colour = buf.readInt();
+	public void readFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_COLOUR) != 0) colour = buf.readInt();
 	}
 }
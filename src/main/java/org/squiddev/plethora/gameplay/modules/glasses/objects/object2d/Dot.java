@@ -8,6 +8,7 @@ import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.squiddev.plethora.gameplay.modules.glasses.CanvasClient;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.BatchedObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ColourableObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectRegistry;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.Scalable;
@@ -18,7 +19,10 @@ import javax.annotation.Nonnull;
 
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
 
-public class Dot extends ColourableObject implements Positionable2D, Scalable {
+public class Dot extends ColourableObject implements Positionable2D, Scalable, BatchedObject {
+	private static final int FIELD_POSITION = 1 << 1;
+	private static final int FIELD_SCALE = 1 << 2;
+
 	private Vec2d position = Vec2d.ZERO;
 	private float scale = 1;
 
@@ -36,7 +40,7 @@ public class Dot extends ColourableObject implements Positionable2D, Scalable {
 	public void setPosition(@Nonnull Vec2d position) {
 		if (!Objects.equal(this.position, position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -49,22 +53,22 @@ public class Dot extends ColourableObject implements Positionable2D, Scalable {
 	public void setScale(float scale) {
 		if (this.scale != scale) {
 			this.scale = scale;
-			setDirty();
+			setDirty(FIELD_SCALE);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		ByteBufUtils.writeVec2d(buf, position);
-		buf.writeFloat(scale);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec2d(buf, position);
+		if ((fields & FIELD_SCALE) != 0) buf.writeFloat(scale);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		position = ByteBufUtils.readVec2d(buf);
-		scale = buf.readFloat();
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec2d(buf);
+		if ((fields & FIELD_SCALE) != 0) scale = buf.readFloat();
 	}
 
 	@Override
@@ -72,12 +76,18 @@ public class Dot extends ColourableObject implements Positionable2D, Scalable {
 	public void draw(CanvasClient canvas) {
 		setupFlat();
 
-		float x = (float) position.x, y = (float) position.y, delta = scale / 2;
-		int red = getRed(), green = getGreen(), blue = getBlue(), alpha = getAlpha();
-
 		Tessellator tessellator = Tessellator.getInstance();
 		BufferBuilder buffer = tessellator.getBuffer();
 		buffer.begin(GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
+		drawBatched(buffer);
+		tessellator.draw();
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void drawBatched(BufferBuilder buffer) {
+		float x = (float) position.x, y = (float) position.y, delta = scale / 2;
+		int red = getRed(), green = getGreen(), blue = getBlue(), alpha = getAlpha();
 
 		buffer.pos(x - delta, y - delta, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(x - delta, y + delta, 0).color(red, green, blue, alpha).endVertex();
@@ -86,7 +96,5 @@ public class Dot extends ColourableObject implements Positionable2D, Scalable {
 		buffer.pos(x - delta, y - delta, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(x + delta, y + delta, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(x + delta, y - delta, 0).color(red, green, blue, alpha).endVertex();
-
-		tessellator.draw();
 	}
 }
@@ -30,6 +30,10 @@ import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.HEIGH
 import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.WIDTH;
 
 public class Item2D extends BaseObject implements Scalable, ItemObject, Positionable2D {
+	private static final int FIELD_POSITION = 1;
+	private static final int FIELD_SCALE = 1 << 1;
+	private static final int FIELD_ITEM = 1 << 2;
+
 	private float scale;
 	private Vec2d position = Vec2d.ZERO;
 
@@ -50,7 +54,7 @@ public class Item2D extends BaseObject implements Scalable, ItemObject, Position
 	public void setScale(float scale) {
 		if (this.scale != scale) {
 			this.scale = scale;
-			setDirty();
+			setDirty(FIELD_SCALE);
 		}
 	}
 
@@ -64,7 +68,7 @@ public class Item2D extends BaseObject implements Scalable, ItemObject, Position
 	public void setPosition(@Nonnull Vec2d position) {
 		if (!this.position.equals(position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -78,7 +82,7 @@ public class Item2D extends BaseObject implements Scalable, ItemObject, Position
 		if (this.damage != damage) {
 			this.damage = damage;
 			stack = null;
-			setDirty();
+			setDirty(FIELD_ITEM);
 		}
 	}
 
@@ -93,27 +97,32 @@ public class Item2D extends BaseObject implements Scalable, ItemObject, Position
 		if (this.item != item) {
 			this.item = item;
 			stack = null;
-			setDirty();
+			setDirty(FIELD_ITEM);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		ByteBufUtils.writeVec2d(buf, position);
-		buf.writeFloat(scale);
-		ByteBufUtils.writeUTF8String(buf, item.getRegistryName().toString());
-		buf.writeInt(damage);
+	public void writeFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec2d(buf, position);
+		if ((fields & FIELD_SCALE) != 0) buf.writeFloat(scale);
+		if ((fields & FIELD_ITEM) != 0) {
+			ByteBufUtils.writeUTF8String(buf, item.getRegistryName().toString());
+			buf.writeInt(damage);
+		}
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		position = ByteBufUtils.readVec2d(buf);
-		scale = buf.readFloat();
+	public void readFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec2d(buf);
+		if ((fields & FIELD_SCALE) != 0) scale = buf.readFloat();
 
-		ResourceLocation name = new ResourceLocation(ByteBufUtils.readUTF8String(buf));
-		item = Item.REGISTRY.getObject(name);
+		if ((fields & FIELD_ITEM) != 0) {
+			ResourceLocation name = new ResourceLocation(ByteBufUtils.readUTF8String(buf));
+			item = Item.REGISTRY.getObject(name);
 
-		damage = buf.readInt();
+			damage = buf.readInt();
+			stack = null;
+		}
 	}
 
 	@Override
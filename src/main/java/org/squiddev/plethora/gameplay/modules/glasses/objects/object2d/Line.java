@@ -20,6 +20,10 @@ import javax.annotation.Nonnull;
 import static org.lwjgl.opengl.GL11.GL_LINES;
 
 public class Line extends ColourableObject implements Scalable, MultiPoint2D {
+	private static final int FIELD_START = 1 << 1;
+	private static final int FIELD_END = 1 << 2;
+	private static final int FIELD_THICKNESS = 1 << 3;
+
 	private Vec2d start = Vec2d.ZERO;
 	private Vec2d end = Vec2d.ZERO;
 	private float thickness = 1;
@@ -37,7 +41,7 @@ public class Line extends ColourableObject implements Scalable, MultiPoint2D {
 	public void setScale(float scale) {
 		if (thickness != scale) {
 			thickness = scale;
-			setDirty();
+			setDirty(FIELD_THICKNESS);
 		}
 	}
 
@@ -52,12 +56,12 @@ public class Line extends ColourableObject implements Scalable, MultiPoint2D {
 		if (idx == 0) {
 			if (!Objects.equal(start, point)) {
 				start = point;
-				setDirty();
+				setDirty(FIELD_START);
 			}
 		} else {
 			if (!Objects.equal(end, point)) {
 				end = point;
-				setDirty();
+				setDirty(FIELD_END);
 			}
 		}
 	}
@@ -68,19 +72,19 @@ public class Line extends ColourableObject implements Scalable, MultiPoint2D {
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		ByteBufUtils.writeVec2d(buf, start);
-		ByteBufUtils.writeVec2d(buf, end);
-		buf.writeFloat(thickness);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_START) != 0) ByteBufUtils.writeVec2d(buf, start);
+		if ((fields & FIELD_END) != 0) ByteBufUtils.writeVec2d(buf, end);
+		if ((fields & FIELD_THICKNESS) != 0) buf.writeFloat(thickness);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		start = ByteBufUtils.readVec2d(buf);
-		end = ByteBufUtils.readVec2d(buf);
-		thickness = buf.readFloat();
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_START) != 0) start = ByteBufUtils.readVec2d(buf);
+		if ((fields & FIELD_END) != 0) end = ByteBufUtils.readVec2d(buf);
+		if ((fields & FIELD_THICKNESS) != 0) thickness = buf.readFloat();
 	}
 
 	@Override
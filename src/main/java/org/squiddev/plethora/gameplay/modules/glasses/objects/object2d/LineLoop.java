@@ -15,6 +15,8 @@ import org.squiddev.plethora.utils.Vec2d;
 import static org.lwjgl.opengl.GL11.GL_LINE_LOOP;
 
 public class LineLoop extends Polygon implements Scalable {
+	private static final int FIELD_SCALE = 1 << 3;
+
 	private float scale = 1;
 
 	public LineLoop(int id, int parent) {
@@ -30,20 +32,26 @@ public class LineLoop extends Polygon implements Scalable {
 	public void setScale(float scale) {
 		if (this.scale != scale) {
 			this.scale = scale;
-			setDirty();
+			setDirty(FIELD_SCALE);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		buf.writeFloat(scale);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_SCALE) != 0) buf.writeFloat(scale);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		scale = buf.readFloat();
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_SCALE) != 0) scale = buf.readFloat();
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public boolean canBatch() {
+		return false;
 	}
 
 	@Override
@@ -16,6 +16,8 @@ import org.squiddev.plethora.utils.Vec2d;
 import javax.annotation.Nonnull;
 
 public class ObjectGroup2D extends BaseObject implements ObjectGroup.Group2D, Positionable2D {
+	private static final int FIELD_POSITION = 1;
+
 	private Vec2d position = Vec2d.ZERO;
 
 	public ObjectGroup2D(int id, int parent) {
@@ -32,18 +34,18 @@ public class ObjectGroup2D extends BaseObject implements ObjectGroup.Group2D, Po
 	public void setPosition(@Nonnull Vec2d position) {
 		if (!Objects.equal(this.position, position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		ByteBufUtils.writeVec2d(buf, position);
+	public void writeFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec2d(buf, position);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		position = ByteBufUtils.readVec2d(buf);
+	public void readFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec2d(buf);
 	}
 
 	@Override
@@ -55,7 +57,7 @@ public class ObjectGroup2D extends BaseObject implements ObjectGroup.Group2D, Po
 		GlStateManager.pushMatrix();
 		GlStateManager.translate(position.x, position.y, 0);
 
-		canvas.drawChildren(children.iterator());
+		canvas.drawChildren(id());
 
 		GlStateManager.popMatrix();
 	}
@@ -8,6 +8,7 @@ import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.squiddev.plethora.gameplay.modules.glasses.CanvasClient;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.BatchedObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ColourableObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectRegistry;
 import org.squiddev.plethora.utils.ByteBufUtils;
@@ -15,11 +16,24 @@ import org.squiddev.plethora.utils.Vec2d;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.BitSet;
 
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
 
-public class Polygon extends ColourableObject implements MultiPointResizable2D {
+public class Polygon extends ColourableObject implements MultiPointResizable2D, BatchedObject {
+	/**
+	 * The field for the entire list of points, set when points are added or removed.
+	 */
+	private static final int FIELD_POINTS = 1 << 1;
+
+	/**
+	 * The field for individual vertices, set when an existing point is moved. The changed points are tracked in
+	 * {@link #changedVertices}. Subclasses should allocate their fields starting from {@code 1 << 3}.
+	 */
+	private static final int FIELD_VERTICES = 1 << 2;
+
 	protected final ArrayList<Vec2d> points = new ArrayList<>();
+	private final BitSet changedVertices = new BitSet();
 
 	protected Polygon(int id, int parent, byte type) {
 		super(id, parent, type);
@@ -39,7 +53,8 @@ public class Polygon extends ColourableObject implements MultiPointResizable2D {
 	public void setVertex(int idx, @Nonnull Vec2d point) {
 		if (!Objects.equal(points.get(idx), point)) {
 			points.set(idx, point);
-			setDirty();
+			changedVertices.set(idx);
+			setDirty(FIELD_VERTICES);
 		}
 	}
 
@@ -51,7 +66,8 @@ public class Polygon extends ColourableObject implements MultiPointResizable2D {
 	@Override
 	public void removePoint(int idx) {
 		points.remove(idx);
-		setDirty();
+		changedVertices.clear();
+		setDirty(FIELD_POINTS);
 	}
 
 	@Override
@@ -62,20 +78,51 @@ public class Polygon extends ColourableObject implements MultiPointResizable2D {
 			points.add(idx, point);
 		}
 
-		setDirty();
+		changedVertices.clear();
+		setDirty(FIELD_POINTS);
+	}
+
+	@Override
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+
+		if ((fields & FIELD_POINTS) != 0) {
+			buf.writeByte(points.size());
+			for (Vec2d point : points) ByteBufUtils.writeVec2d(buf, point);
+		} else if ((fields & FIELD_VERTICES) != 0) {
+			buf.writeByte(changedVertices.cardinality());
+			for (int i = changedVertices.nextSetBit(0); i >= 0; i = changedVertices.nextSetBit(i + 1)) {
+				buf.writeByte(i);
+				ByteBufUtils.writeVec2d(buf, points.get(i));
+			}
+		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		buf.writeByte(points.size());
+	protected void onSent(int fields) {
+		super.onSent(fields);
 
-		for (Vec2d point : points) ByteBufUtils.writeVec2d(buf, point);
+		// Sending every point also sends any individually changed vertices.
+		if ((fields & (FIELD_POINTS | FIELD_VERTICES)) != 0) changedVertices.clear();
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+
+		if ((fields & FIELD_POINTS) != 0) {
+			readPoints(buf);
+		} else if ((fields & FIELD_VERTICES) != 0) {
+			int count = buf.readUnsignedByte();
+			for (int i = 0; i < count; i++) {
+				int index = buf.readUnsignedByte();
+				Vec2d point = ByteBufUtils.readVec2d(buf);
+				if (index < points.size()) points.set(index, point);
+			}
+		}
+	}
+
+	private void readPoints(ByteBuf buf) {
 		int count = buf.readUnsignedByte();
 		points.ensureCapacity(count);
 
@@ -98,22 +145,28 @@ public class Polygon extends ColourableObject implements MultiPointResizable2D {
 
 		setupFlat();
 
+		Tessellator tessellator = Tessellator.getInstance();
+		BufferBuilder buffer = tessellator.getBuffer();
+		buffer.begin(GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
+		drawBatched(buffer);
+		tessellator.draw();
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void drawBatched(BufferBuilder buffer) {
+		if (points.size() < 3) return;
+
 		int size = points.size();
 		Vec2d a = points.get(0);
 
 		int red = getRed(), green = getGreen(), blue = getBlue(), alpha = getAlpha();
 
-		Tessellator tessellator = Tessellator.getInstance();
-		BufferBuilder buffer = tessellator.getBuffer();
-		buffer.begin(GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
-
 		for (int i = 1; i < size - 1; i++) {
 			Vec2d b = points.get(i), c = points.get(i + 1);
 			buffer.pos(a.x, a.y, 0).color(red, green, blue, alpha).endVertex();
 			buffer.pos(b.x, b.y, 0).color(red, green, blue, alpha).endVertex();
 			buffer.pos(c.x, c.y, 0).color(red, green, blue, alpha).endVertex();
 		}
-
-		tessellator.draw();
 	}
 }
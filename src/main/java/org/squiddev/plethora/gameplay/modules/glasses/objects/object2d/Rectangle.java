@@ -11,6 +11,7 @@ import org.squiddev.plethora.api.method.MethodResult;
 import org.squiddev.plethora.api.method.wrapper.FromTarget;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.gameplay.modules.glasses.CanvasClient;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.BatchedObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ColourableObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectRegistry;
 import org.squiddev.plethora.utils.ByteBufUtils;
@@ -18,9 +19,12 @@ import org.squiddev.plethora.utils.Vec2d;
 
 import javax.annotation.Nonnull;
 
-import static org.lwjgl.opengl.GL11.GL_QUADS;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+
+public class Rectangle extends ColourableObject implements Positionable2D, BatchedObject {
+	private static final int FIELD_POSITION = 1 << 1;
+	private static final int FIELD_SIZE = 1 << 2;
 
-public class Rectangle extends ColourableObject implements Positionable2D {
 	private Vec2d position = Vec2d.ZERO;
 	private float width;
 	private float height;
@@ -39,7 +43,7 @@ public class Rectangle extends ColourableObject implements Positionable2D {
 	public void setPosition(@Nonnull Vec2d position) {
 		if (!Objects.equal(this.position, position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -55,24 +59,28 @@ public class Rectangle extends ColourableObject implements Positionable2D {
 		if (this.width != width || this.height != height) {
 			this.width = width;
 			this.height = height;
-			setDirty();
+			setDirty(FIELD_SIZE);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		ByteBufUtils.writeVec2d(buf, position);
-		buf.writeFloat(width);
-		buf.writeFloat(height);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec2d(buf, position);
+		if ((fields & FIELD_SIZE) != 0) {
+			buf.writeFloat(width);
+			buf.writeFloat(height);
+		}
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		position = ByteBufUtils.readVec2d(buf);
-		width = buf.readFloat();
-		height = buf.readFloat();
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec2d(buf);
+		if ((fields & FIELD_SIZE) != 0) {
+			width = buf.readFloat();
+			height = buf.readFloat();
+		}
 	}
 
 	@Override
@@ -80,20 +88,27 @@ public class Rectangle extends ColourableObject implements Positionable2D {
 	public void draw(CanvasClient canvas) {
 		setupFlat();
 
+		Tessellator tessellator = Tessellator.getInstance();
+		BufferBuilder buffer = tessellator.getBuffer();
+		buffer.begin(GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
+		drawBatched(buffer);
+		tessellator.draw();
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void drawBatched(BufferBuilder buffer) {
 		double minX = position.x, minY = position.y;
 		double maxX = minX + width, maxY = minY + height;
 		int red = getRed(), green = getGreen(), blue = getBlue(), alpha = getAlpha();
 
-		Tessellator tessellator = Tessellator.getInstance();
-		BufferBuilder buffer = tessellator.getBuffer();
-		buffer.begin(GL_QUADS, DefaultVertexFormats.POSITION_COLOR);
-
 		buffer.pos(minX, minY, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(minX, maxY, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(maxX, maxY, 0).color(red, green, blue, alpha).endVertex();
-		buffer.pos(maxX, minY, 0).color(red, green, blue, alpha).endVertex();
 
-		tessellator.draw();
+		buffer.pos(minX, minY, 0).color(red, green, blue, alpha).endVertex();
+		buffer.pos(maxX, maxY, 0).color(red, green, blue, alpha).endVertex();
+		buffer.pos(maxX, minY, 0).color(red, green, blue, alpha).endVertex();
 	}
 
 	@PlethoraMethod(doc = "function():number, number -- Get the size of this rectangle.", worldThread = false)
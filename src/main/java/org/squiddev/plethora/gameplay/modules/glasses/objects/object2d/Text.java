@@ -36,6 +36,12 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 
 	private static final Pattern SPLIT_PATTERN = Pattern.compile("\r\n|\n|\r");
 
+	private static final int FIELD_POSITION = 1 << 1;
+	private static final int FIELD_SCALE = 1 << 2;
+	private static final int FIELD_SHADOW = 1 << 3;
+	private static final int FIELD_LINE_HEIGHT = 1 << 4;
+	private static final int FIELD_TEXT = 1 << 5;
+
 	private Vec2d position = Vec2d.ZERO;
 	private float size = 1;
 	private short lineHeight = 9;
@@ -58,7 +64,7 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 	public void setPosition(@Nonnull Vec2d position) {
 		if (!Objects.equal(this.position, position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -71,7 +77,7 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 	public void setScale(float scale) {
 		if (size != scale) {
 			size = scale;
-			setDirty();
+			setDirty(FIELD_SCALE);
 		}
 	}
 
@@ -86,7 +92,7 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 		if (!this.text.equals(text)) {
 			this.text = text;
 			lines = splitText(text);
-			setDirty();
+			setDirty(FIELD_TEXT);
 		}
 	}
 
@@ -94,7 +100,7 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 	public void setShadow(boolean dropShadow) {
 		if (this.dropShadow != dropShadow) {
 			this.dropShadow = dropShadow;
-			setDirty();
+			setDirty(FIELD_SHADOW);
 		}
 	}
 
@@ -107,7 +113,7 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 	public void setLineHeight(short lineHeight) {
 		if (this.lineHeight == lineHeight) return;
 		this.lineHeight = lineHeight;
-		setDirty();
+		setDirty(FIELD_LINE_HEIGHT);
 	}
 
 	@Override
@@ -116,24 +122,26 @@ public class Text extends ColourableObject implements Positionable2D, Scalable,
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		ByteBufUtils.writeVec2d(buf, position);
-		buf.writeFloat(size);
-		buf.writeBoolean(dropShadow);
-		buf.writeShort(lineHeight);
-		ByteBufUtils.writeUTF8String(buf, text);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec2d(buf, position);
+		if ((fields & FIELD_SCALE) != 0) buf.writeFloat(size);
+		if ((fields & FIELD_SHADOW) != 0) buf.writeBoolean(dropShadow);
+		if ((fields & FIELD_LINE_HEIGHT) != 0) buf.writeShort(lineHeight);
+		if ((fields & FIELD_TEXT) != 0) ByteBufUtils.writeUTF8String(buf, text);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		position = ByteBufUtils.readVec2d(buf);
-		size = buf.readFloat();
-		dropShadow = buf.readBoolean();
-		lineHeight = buf.readShort();
-		text = ByteBufUtils.readUTF8String(buf);
-		lines = splitText(text);
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec2d(buf);
+		if ((fields & FIELD_SCALE) != 0) size = buf.readFloat();
+		if ((fields & FIELD_SHADOW) != 0) dropShadow = buf.readBoolean();
+		if ((fields & FIELD_LINE_HEIGHT) != 0) lineHeight = buf.readShort();
+		if ((fields & FIELD_TEXT) != 0) {
+			text = ByteBufUtils.readUTF8String(buf);
+			lines = splitText(text);
+		}
 	}
 
 	@Override
@@ -8,6 +8,7 @@ import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.squiddev.plethora.gameplay.modules.glasses.CanvasClient;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.BatchedObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ColourableObject;
 import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectRegistry;
 import org.squiddev.plethora.utils.ByteBufUtils;
@@ -17,7 +18,13 @@ import javax.annotation.Nonnull;
 
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
 
-public class Triangle extends ColourableObject implements MultiPoint2D {
+public class Triangle extends ColourableObject implements MultiPoint2D, BatchedObject {
+	/**
+	 * The field for the first point. Each point has its own field, so this is followed by {@code 1 << 2} and
+	 * {@code 1 << 3}.
+	 */
+	private static final int FIELD_POINT = 1 << 1;
+
 	private final Vec2d[] points = new Vec2d[3];
 
 	public Triangle(int id, int parent) {
@@ -35,7 +42,7 @@ public class Triangle extends ColourableObject implements MultiPoint2D {
 	public void setVertex(int idx, @Nonnull Vec2d point) {
 		if (!Objects.equal(points[idx], point)) {
 			points[idx] = point;
-			setDirty();
+			setDirty(FIELD_POINT << idx);
 		}
 	}
 
@@ -45,15 +52,19 @@ public class Triangle extends ColourableObject implements MultiPoint2D {
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		for (Vec2d point : points) ByteBufUtils.writeVec2d(buf, point);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		for (int i = 0; i < points.length; i++) {
+			if ((fields & (FIELD_POINT << i)) != 0) ByteBufUtils.writeVec2d(buf, points[i]);
+		}
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		for (int i = 0; i < points.length; i++) points[i] = ByteBufUtils.readVec2d(buf);
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		for (int i = 0; i < points.length; i++) {
+			if ((fields & (FIELD_POINT << i)) != 0) points[i] = ByteBufUtils.readVec2d(buf);
+		}
 	}
 
 	@Override
@@ -61,16 +72,20 @@ public class Triangle extends ColourableObject implements MultiPoint2D {
 	public void draw(CanvasClient canvas) {
 		setupFlat();
 
-		int red = getRed(), green = getGreen(), blue = getBlue(), alpha = getAlpha();
-
 		Tessellator tessellator = Tessellator.getInstance();
 		BufferBuilder buffer = tessellator.getBuffer();
 		buffer.begin(GL_TRIANGLES, DefaultVertexFormats.POSITION_COLOR);
+		drawBatched(buffer);
+		tessellator.draw();
+	}
+
+	@Override
+	@SideOnly(Side.CLIENT)
+	public void drawBatched(BufferBuilder buffer) {
+		int red = getRed(), green = getGreen(), blue = getBlue(), alpha = getAlpha();
 
 		buffer.pos(points[0].x, points[0].y, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(points[1].x, points[1].y, 0).color(red, green, blue, alpha).endVertex();
 		buffer.pos(points[2].x, points[2].y, 0).color(red, green, blue, alpha).endVertex();
-
-		tessellator.draw();
 	}
 }
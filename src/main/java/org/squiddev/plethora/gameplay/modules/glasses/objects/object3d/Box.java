@@ -21,6 +21,10 @@ import org.squiddev.plethora.utils.ByteBufUtils;
 import javax.annotation.Nonnull;
 
 public class Box extends ColourableObject implements Positionable3D, DepthTestable {
+	private static final int FIELD_POSITION = 1 << 1;
+	private static final int FIELD_SIZE = 1 << 2;
+	private static final int FIELD_DEPTH_TEST = 1 << 3;
+
 	private Vec3d position;
 	private double width;
 	private double height;
@@ -41,7 +45,7 @@ public class Box extends ColourableObject implements Positionable3D, DepthTestab
 	public void setDepthTest(boolean depthTest) {
 		if (this.depthTest != depthTest) {
 			this.depthTest = depthTest;
-			setDirty();
+			setDirty(FIELD_DEPTH_TEST);
 		}
 	}
 
@@ -55,7 +59,7 @@ public class Box extends ColourableObject implements Positionable3D, DepthTestab
 	public void setPosition(@Nonnull Vec3d position) {
 		if (!Objects.equal(this.position, position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -64,28 +68,32 @@ public class Box extends ColourableObject implements Positionable3D, DepthTestab
 			this.width = width;
 			this.height = height;
 			this.depth = depth;
-			setDirty();
+			setDirty(FIELD_SIZE);
 		}
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		position = ByteBufUtils.readVec3d(buf);
-		width = buf.readFloat();
-		height = buf.readFloat();
-		depth = buf.readFloat();
-		depthTest = buf.readBoolean();
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec3d(buf);
+		if ((fields & FIELD_SIZE) != 0) {
+			width = buf.readFloat();
+			height = buf.readFloat();
+			depth = buf.readFloat();
+		}
+		if ((fields & FIELD_DEPTH_TEST) != 0) depthTest = buf.readBoolean();
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		ByteBufUtils.writeVec3d(buf, position);
-		buf.writeFloat((float) width);
-		buf.writeFloat((float) height);
-		buf.writeFloat((float) depth);
-		buf.writeBoolean(depthTest);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec3d(buf, position);
+		if ((fields & FIELD_SIZE) != 0) {
+			buf.writeFloat((float) width);
+			buf.writeFloat((float) height);
+			buf.writeFloat((float) depth);
+		}
+		if ((fields & FIELD_DEPTH_TEST) != 0) buf.writeBoolean(depthTest);
 	}
 
 	@Override
@@ -23,6 +23,12 @@ import javax.annotation.Nullable;
 import java.util.Objects;
 
 public class Item3D extends BaseObject implements Scalable, Positionable3D, DepthTestable, ItemObject, Rotatable3D {
+	private static final int FIELD_POSITION = 1;
+	private static final int FIELD_ROTATION = 1 << 1;
+	private static final int FIELD_SCALE = 1 << 2;
+	private static final int FIELD_DEPTH_TEST = 1 << 3;
+	private static final int FIELD_ITEM = 1 << 4;
+
 	private float scale;
 	private Vec3d position = Vec3d.ZERO;
 	private Vec3d rotation = Vec3d.ZERO;
@@ -45,7 +51,7 @@ public class Item3D extends BaseObject implements Scalable, Positionable3D, Dept
 	public void setScale(float scale) {
 		if (this.scale != scale) {
 			this.scale = scale;
-			setDirty();
+			setDirty(FIELD_SCALE);
 		}
 	}
 
@@ -59,7 +65,7 @@ public class Item3D extends BaseObject implements Scalable, Positionable3D, Dept
 	public void setPosition(@Nonnull Vec3d position) {
 		if (!this.position.equals(position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -72,7 +78,7 @@ public class Item3D extends BaseObject implements Scalable, Positionable3D, Dept
 	public void setDepthTest(boolean depthTest) {
 		if (this.depthTest != depthTest) {
 			this.depthTest = depthTest;
-			setDirty();
+			setDirty(FIELD_DEPTH_TEST);
 		}
 	}
 
@@ -86,7 +92,7 @@ public class Item3D extends BaseObject implements Scalable, Positionable3D, Dept
 		if (this.damage != damage) {
 			this.damage = damage;
 			stack = null;
-			setDirty();
+			setDirty(FIELD_ITEM);
 		}
 	}
 
@@ -101,7 +107,7 @@ public class Item3D extends BaseObject implements Scalable, Positionable3D, Dept
 		if (this.item != item) {
 			this.item = item;
 			stack = null;
-			setDirty();
+			setDirty(FIELD_ITEM);
 		}
 	}
 
@@ -115,32 +121,37 @@ public class Item3D extends BaseObject implements Scalable, Positionable3D, Dept
 	public void setRotation(@Nullable Vec3d rotation) {
 		if (!Objects.equals(this.rotation, rotation)) {
 			this.rotation = rotation;
-			setDirty();
+			setDirty(FIELD_ROTATION);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		ByteBufUtils.writeVec3d(buf, position);
-		ByteBufUtils.writeOptVec3d(buf, rotation);
-		buf.writeFloat(scale);
-		buf.writeBoolean(depthTest);
-
-		ByteBufUtils.writeUTF8String(buf, item.getRegistryName().toString());
-		buf.writeInt(damage);
+	public void writeFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec3d(buf, position);
+		if ((fields & FIELD_ROTATION) != 0) ByteBufUtils.writeOptVec3d(buf, rotation);
+		if ((fields & FIELD_SCALE) != 0) buf.writeFloat(scale);
+		if ((fields & FIELD_DEPTH_TEST) != 0) buf.writeBoolean(depthTest);
+
+		if ((fields & FIELD_ITEM) != 0) {
+			ByteBufUtils.writeUTF8String(buf, item.getRegistryName().toString());
+			buf.writeInt(damage);
+		}
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		position = ByteBufUtils.readVec3d(buf);
-		rotation = ByteBufUtils.readOptVec3d(buf);
-		scale = buf.readFloat();
-		depthTest = buf.readBoolean();
+	public void readFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec3d(buf);
+		if ((fields & FIELD_ROTATION) != 0) rotation = ByteBufUtils.readOptVec3d(buf);
+		if ((fields & FIELD_SCALE) != 0) scale = buf.readFloat();
+		if ((fields & FIELD_DEPTH_TEST) != 0) depthTest = buf.readBoolean();
 
-		ResourceLocation name = new ResourceLocation(ByteBufUtils.readUTF8String(buf));
-		item = Item.REGISTRY.getObject(name);
+		if ((fields & FIELD_ITEM) != 0) {
+			ResourceLocation name = new ResourceLocation(ByteBufUtils.readUTF8String(buf));
+			item = Item.REGISTRY.getObject(name);
 
-		damage = buf.readInt();
+			damage = buf.readInt();
+			stack = null;
+		}
 	}
 
 	@Override
@@ -20,6 +20,11 @@ import org.squiddev.plethora.utils.ByteBufUtils;
 import javax.annotation.Nonnull;
 
 public class Line3D extends ColourableObject implements MultiPoint3D, DepthTestable, Scalable {
+	private static final int FIELD_START = 1 << 1;
+	private static final int FIELD_END = 1 << 2;
+	private static final int FIELD_THICKNESS = 1 << 3;
+	private static final int FIELD_DEPTH_TEST = 1 << 4;
+
 	private Vec3d start;
 	private Vec3d end;
 
@@ -49,13 +54,13 @@ public class Line3D extends ColourableObject implements MultiPoint3D, DepthTesta
 			case 0:
 				if (!Objects.equal(start, point)) {
 					start = point;
-					setDirty();
+					setDirty(FIELD_START);
 				}
 				break;
 			case 1:
 				if (!Objects.equal(end, point)) {
 					end = point;
-					setDirty();
+					setDirty(FIELD_END);
 				}
 				break;
 			default:
@@ -105,26 +110,26 @@ public class Line3D extends ColourableObject implements MultiPoint3D, DepthTesta
 	public void setDepthTest(boolean depthTest) {
 		if (this.depthTest != depthTest) {
 			this.depthTest = depthTest;
-			setDirty();
+			setDirty(FIELD_DEPTH_TEST);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		super.writeInitial(buf);
-		ByteBufUtils.writeVec3d(buf, start);
-		ByteBufUtils.writeVec3d(buf, end);
-		buf.writeFloat(thickness);
-		buf.writeBoolean(depthTest);
+	public void writeFields(ByteBuf buf, int fields) {
+		super.writeFields(buf, fields);
+		if ((fields & FIELD_START) != 0) ByteBufUtils.writeVec3d(buf, start);
+		if ((fields & FIELD_END) != 0) ByteBufUtils.writeVec3d(buf, end);
+		if ((fields & FIELD_THICKNESS) != 0) buf.writeFloat(thickness);
+		if ((fields & FIELD_DEPTH_TEST) != 0) buf.writeBoolean(depthTest);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		super.readInitial(buf);
-		start = ByteBufUtils.readVec3d(buf);
-		end = ByteBufUtils.readVec3d(buf);
-		thickness = buf.readFloat();
-		depthTest = buf.readBoolean();
+	public void readFields(ByteBuf buf, int fields) {
+		super.readFields(buf, fields);
+		if ((fields & FIELD_START) != 0) start = ByteBufUtils.readVec3d(buf);
+		if ((fields & FIELD_END) != 0) end = ByteBufUtils.readVec3d(buf);
+		if ((fields & FIELD_THICKNESS) != 0) thickness = buf.readFloat();
+		if ((fields & FIELD_DEPTH_TEST) != 0) depthTest = buf.readBoolean();
 	}
 
 	@Override
@@ -137,7 +142,7 @@ public class Line3D extends ColourableObject implements MultiPoint3D, DepthTesta
 		if (thickness != scale) {
 			// Large line widths can behave weirdly on some hardware (or not work at all), so let's keep it sane.
 			this.thickness = MathHelper.clamp(scale, 1.0f, 5.0f);
-			setDirty();
+			setDirty(FIELD_THICKNESS);
 		}
 	}
 }
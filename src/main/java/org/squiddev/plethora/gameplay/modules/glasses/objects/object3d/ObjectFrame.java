@@ -31,6 +31,10 @@ import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.WIDTH
 public class ObjectFrame extends BaseObject implements ObjectGroup.Frame2D, Positionable3D, Rotatable3D, DepthTestable {
 	private static final float SCALE = 1 / 64.0f;
 
+	private static final int FIELD_POSITION = 1;
+	private static final int FIELD_ROTATION = 1 << 1;
+	private static final int FIELD_DEPTH_TEST = 1 << 2;
+
 	private Vec3d position = Vec3d.ZERO;
 	private Vec3d rotation = null;
 	private boolean depthTest = true;
@@ -49,7 +53,7 @@ public class ObjectFrame extends BaseObject implements ObjectGroup.Frame2D, Posi
 	public void setPosition(@Nonnull Vec3d position) {
 		if (!this.position.equals(position)) {
 			this.position = position;
-			setDirty();
+			setDirty(FIELD_POSITION);
 		}
 	}
 
@@ -63,7 +67,7 @@ public class ObjectFrame extends BaseObject implements ObjectGroup.Frame2D, Posi
 	public void setRotation(@Nullable Vec3d rotation) {
 		if (!Objects.equals(this.rotation, rotation)) {
 			this.rotation = rotation;
-			setDirty();
+			setDirty(FIELD_ROTATION);
 		}
 	}
 
@@ -76,22 +80,22 @@ public class ObjectFrame extends BaseObject implements ObjectGroup.Frame2D, Posi
 	public void setDepthTest(boolean depthTest) {
 		if (this.depthTest != depthTest) {
 			this.depthTest = depthTest;
-			setDirty();
+			setDirty(FIELD_DEPTH_TEST);
 		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		ByteBufUtils.writeVec3d(buf, position);
-		ByteBufUtils.writeOptVec3d(buf, rotation);
-		buf.writeBoolean(depthTest);
+	public void writeFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) ByteBufUtils.writeVec3d(buf, position);
+		if ((fields & FIELD_ROTATION) != 0) ByteBufUtils.writeOptVec3d(buf, rotation);
+		if ((fields & FIELD_DEPTH_TEST) != 0) buf.writeBoolean(depthTest);
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		position = ByteBufUtils.readVec3d(buf);
-		rotation = ByteBufUtils.readOptVec3d(buf);
-		depthTest = buf.readBoolean();
+	public void readFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_POSITION) != 0) position = ByteBufUtils.readVec3d(buf);
+		if ((fields & FIELD_ROTATION) != 0) rotation = ByteBufUtils.readOptVec3d(buf);
+		if ((fields & FIELD_DEPTH_TEST) != 0) depthTest = buf.readBoolean();
 	}
 
 	@Override
@@ -131,7 +135,7 @@ public class ObjectFrame extends BaseObject implements ObjectGroup.Frame2D, Posi
 		}
 
 		GlStateManager.enableDepth();
-		canvas.drawChildren(children.iterator());
+		canvas.drawChildren(id());
 
 		if (OpenGlHelper.framebufferSupported) {
 			state.restore();
@@ -22,6 +22,8 @@ import org.squiddev.plethora.gameplay.modules.glasses.objects.ObjectRegistry;
 import org.squiddev.plethora.utils.ByteBufUtils;
 
 public class ObjectRoot3D extends BaseObject implements ObjectGroup.Group3D {
+	private static final int FIELD_ORIGIN = 1;
+
 	private Vec3d origin;
 	private int dimension;
 
@@ -35,20 +37,24 @@ public class ObjectRoot3D extends BaseObject implements ObjectGroup.Group3D {
 		if (!origin.equals(this.origin) || dimension != this.dimension) {
 			this.origin = origin;
 			this.dimension = dimension;
-			setDirty();
+			setDirty(FIELD_ORIGIN);
 		}
 	}
 
 	@Override
-	public void readInitial(ByteBuf buf) {
-		origin = ByteBufUtils.readVec3d(buf);
-		dimension = buf.readInt();
+	public void readFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_ORIGIN) != 0) {
+			origin = ByteBufUtils.readVec3d(buf);
+			dimension = buf.readInt();
+		}
 	}
 
 	@Override
-	public void writeInitial(ByteBuf buf) {
-		ByteBufUtils.writeVec3d(buf, origin);
-		buf.writeInt(dimension);
+	public void writeFields(ByteBuf buf, int fields) {
+		if ((fields & FIELD_ORIGIN) != 0) {
+			ByteBufUtils.writeVec3d(buf, origin);
+			buf.writeInt(dimension);
+		}
 	}
 
 	@Override
@@ -73,7 +79,7 @@ public class ObjectRoot3D extends BaseObject implements ObjectGroup.Group3D {
 		GlStateManager.pushMatrix();
 		GlStateManager.translate(-renderManager.viewerPosX + origin.x, -renderManager.viewerPosY + origin.y, -renderManager.viewerPosZ + origin.z);
 
-		canvas.drawChildren(children.iterator());
+		canvas.drawChildren(id());
 
 		GlStateManager.popMatrix();
 	}
@@ -120,7 +120,7 @@ public final class MethodsChat {
 		module = PlethoraModules.CHAT_S, worldThread = false,
 		doc = "-- Capture all chat messages matching a Lua pattern, preventing them from being said."
 	)
-	public static void capture(@FromContext(PlethoraModules.CHAT_S) Listener listener, String pattern) {
+	public static void capture(@FromContext(PlethoraModules.CHAT_S) Listener listener, String pattern) throws LuaException {
 		listener.addPattern(pattern);
 	}
 
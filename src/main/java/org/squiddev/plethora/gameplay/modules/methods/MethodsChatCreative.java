@@ -40,7 +40,7 @@ public final class MethodsChatCreative {
 		module = PlethoraModules.CHAT_CREATIVE_S, worldThread = false,
 		doc = "-- Capture all chat messages matching a Lua pattern, preventing them from being said."
 	)
-	public static void capture(@FromContext(PlethoraModules.CHAT_CREATIVE_S) Listener listener, String pattern) {
+	public static void capture(@FromContext(PlethoraModules.CHAT_CREATIVE_S) Listener listener, String pattern) throws LuaException {
 		listener.addPattern(pattern);
 	}
 
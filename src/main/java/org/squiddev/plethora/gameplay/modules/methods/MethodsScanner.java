@@ -1,8 +1,9 @@
 package org.squiddev.plethora.gameplay.modules.methods;
 
 import dan200.computercraft.api.lua.LuaException;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.squiddev.plethora.api.IWorldLocation;
@@ -13,14 +14,18 @@ import org.squiddev.plethora.api.method.IContext;
 import org.squiddev.plethora.api.method.LuaList;
 import org.squiddev.plethora.api.method.MethodResult;
 import org.squiddev.plethora.api.method.wrapper.FromContext;
+import org.squiddev.plethora.api.method.wrapper.Optional;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.api.module.IModuleContainer;
 import org.squiddev.plethora.api.reference.BlockReference;
+import org.squiddev.plethora.gameplay.modules.BlockFilter;
+import org.squiddev.plethora.gameplay.modules.BlockScanner;
 import org.squiddev.plethora.gameplay.modules.PlethoraModules;
 import org.squiddev.plethora.gameplay.modules.RangeInfo;
-import org.squiddev.plethora.integration.vanilla.meta.MetaBlockState;
+import org.squiddev.plethora.utils.LuaArray;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,43 +35,100 @@ public final class MethodsScanner {
 	private MethodsScanner() {
 	}
 
-	@PlethoraMethod(module = PlethoraModules.SCANNER_S, doc = "function():table -- Scan all blocks in the vicinity")
+	@PlethoraMethod(
+		module = PlethoraModules.SCANNER_S,
+		doc = "function([filter:table]):table -- Scan all blocks in the vicinity. One may optionally pass a filter, " +
+			"restricting the results to blocks with the given name(s), ore dictionary entries (ore), state properties, " +
+			"and within the given bounds (minX, maxX, etc...)."
+	)
 	public static MethodResult scan(
 		IContext<IModuleContainer> context,
 		@FromContext(ContextKeys.ORIGIN) IWorldLocation location,
-		@FromContext(PlethoraModules.SCANNER_S) RangeInfo range
+		@FromContext(PlethoraModules.SCANNER_S) RangeInfo range,
+		@Optional Map<?, ?> filterTable
+	) throws LuaException {
+		final World world = location.getWorld();
+		final BlockPos pos = location.getPos();
+
+		if (filterTable == null) {
+			return context.getCostHandler().await(range.getBulkCost(), () -> MethodResult.result(BlockScanner.scan(world, pos, range.getRange())));
+		}
+
+		BlockFilter filter = BlockFilter.fromLua(filterTable, range.getRange());
+		return context.getCostHandler().await(getBulkCost(range, filter), () -> {
+			LuaList<Map<String, ?>> result = new LuaList<>();
+			Map<IBlockState, Map<String, Object>> stateData = new HashMap<>();
+			BlockScanner.visit(world, pos, filter, (x, y, z, state) -> {
+				Map<String, Object> data = new HashMap<>(6);
+				data.put("x", x);
+				data.put("y", y);
+				data.put("z", z);
+				data.putAll(stateData.computeIfAbsent(state, BlockScanner::getBasicData));
+				result.add(data);
+			});
+			return MethodResult.result(result.asMap());
+		});
+	}
+
+	@PlethoraMethod(
+		module = PlethoraModules.SCANNER_S,
+		doc = "function([filter:table]):table -- Scan all blocks in the vicinity, returning them in a packed format. " +
+			"This returns a table with lists x, y, z and block, where block holds an index into palette (a list of " +
+			"block names and states). This accepts the same filter as scan."
+	)
+	public static MethodResult scanPacked(
+		IContext<IModuleContainer> context,
+		@FromContext(ContextKeys.ORIGIN) IWorldLocation location,
+		@FromContext(PlethoraModules.SCANNER_S) RangeInfo range,
+		@Optional Map<?, ?> filterTable
 	) throws LuaException {
 		final World world = location.getWorld();
 		final BlockPos pos = location.getPos();
-		final int x = pos.getX(), y = pos.getY(), z = pos.getZ();
 
-		return context.getCostHandler().await(range.getBulkCost(), () -> MethodResult.result(scan(world, x, y, z, range.getRange())));
+		BlockFilter filter = BlockFilter.fromLua(filterTable == null ? Collections.emptyMap() : filterTable, range.getRange());
+		double cost = filterTable == null ? range.getBulkCost() : getBulkCost(range, filter);
+		return context.getCostHandler().await(cost, () -> MethodResult.result(scanPacked(world, pos, filter)));
 	}
 
-	private static Map<Integer, Map<String, ?>> scan(World world, int x, int y, int z, int radius) {
-		LuaList<Map<String, ?>> result = new LuaList<>();
-		for (int oX = x - radius; oX <= x + radius; oX++) {
-			for (int oY = y - radius; oY <= y + radius; oY++) {
-				for (int oZ = z - radius; oZ <= z + radius; oZ++) {
-					BlockPos subPos = new BlockPos(oX, oY, oZ);
-					IBlockState block = world.getBlockState(subPos).getActualState(world, subPos);
+	private static double getBulkCost(RangeInfo range, BlockFilter filter) {
+		return range.getBulkCost(getVolume(filter));
+	}
 
-					HashMap<String, Object> data = new HashMap<>(6);
-					data.put("x", oX - x);
-					data.put("y", oY - y);
-					data.put("z", oZ - z);
+	private static long getVolume(BlockFilter filter) {
+		return (long) Math.max(0, filter.maxX - filter.minX + 1)
+			* Math.max(0, filter.maxY - filter.minY + 1)
+			* Math.max(0, filter.maxZ - filter.minZ + 1);
+	}
 
-					ResourceLocation name = block.getBlock().getRegistryName();
-					data.put("name", name == null ? "unknown" : name.toString());
+	private static Map<String, Object> scanPacked(World world, BlockPos pos, BlockFilter filter) {
+		int size = (int) getVolume(filter);
 
-					MetaBlockState.fillBasicMeta(data, block);
+		int[] xs = new int[size], ys = new int[size], zs = new int[size], blocks = new int[size];
+		Object2IntMap<IBlockState> paletteLookup = new Object2IntOpenHashMap<>();
+		LuaList<Map<String, ?>> palette = new LuaList<>();
+		int[] count = new int[1];
 
-					result.add(data);
-				}
+		BlockScanner.visit(world, pos, filter, (x, y, z, state) -> {
+			int index = paletteLookup.getInt(state);
+			if (index == 0) {
+				palette.add(BlockScanner.getBasicData(state));
+				paletteLookup.put(state, index = paletteLookup.size() + 1);
 			}
-		}
 
-		return result.asMap();
+			int i = count[0]++;
+			xs[i] = x;
+			ys[i] = y;
+			zs[i] = z;
+			blocks[i] = index;
+		});
+
+		Map<String, Object> result = new HashMap<>(6);
+		result.put("x", LuaArray.ofInts(xs, count[0]));
+		result.put("y", LuaArray.ofInts(ys, count[0]));
+		result.put("z", LuaArray.ofInts(zs, count[0]));
+		result.put("block", LuaArray.ofInts(blocks, count[0]));
+		result.put("palette", palette.asMap());
+		return result;
 	}
 
 	@Nonnull
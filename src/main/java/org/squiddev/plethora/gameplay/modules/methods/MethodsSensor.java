@@ -1,9 +1,7 @@
 package org.squiddev.plethora.gameplay.modules.methods;
 
-import com.google.common.base.Predicate;
 import dan200.computercraft.api.lua.LuaException;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
@@ -18,14 +16,18 @@ import org.squiddev.plethora.api.method.wrapper.Optional;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.api.module.IModuleContainer;
 import org.squiddev.plethora.api.reference.Reference;
+import org.squiddev.plethora.gameplay.modules.EntityIndex;
 import org.squiddev.plethora.gameplay.modules.PlethoraModules;
 import org.squiddev.plethora.gameplay.modules.RangeInfo;
 import org.squiddev.plethora.integration.vanilla.meta.MetaEntity;
-import org.squiddev.plethora.utils.Helpers;
+import org.squiddev.plethora.utils.LuaArray;
 
 import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 public final class MethodsSensor {
 	private MethodsSensor() {
@@ -41,11 +43,54 @@ public final class MethodsSensor {
 		final BlockPos pos = location.getPos();
 
 		return context.getCostHandler().await(range.getBulkCost(), () -> {
-			List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, getBox(pos, range.getRange()), DEFAULT_PREDICATE::test);
+			List<Entity> entities = EntityIndex.getEntities(world, getBox(pos, range.getRange()));
 			return MethodResult.result(LuaList.of(entities, x -> MetaEntity.getBasicProperties(x, location)).asMap());
 		});
 	}
 
+	@PlethoraMethod(
+		module = PlethoraModules.SENSOR_S,
+		doc = "function():table -- Scan for entities in the vicinity, returning them in a packed format. This returns a " +
+			"table of lists (id, name, displayName, x, y, z, motionX, motionY, motionZ, pitch and yaw), with one entry " +
+			"in each list per entity."
+	)
+	public static MethodResult sensePacked(
+		IContext<IModuleContainer> context,
+		@FromContext(ContextKeys.ORIGIN) IWorldLocation location,
+		@FromContext(PlethoraModules.SENSOR_S) RangeInfo range
+	) throws LuaException {
+		final World world = location.getWorld();
+		final BlockPos pos = location.getPos();
+
+		return context.getCostHandler().await(range.getBulkCost(), () -> {
+			List<Entity> entities = EntityIndex.getEntities(world, getBox(pos, range.getRange()));
+			return MethodResult.result(getPackedProperties(entities, location));
+		});
+	}
+
+	private static final String[] PACKED_FIELDS = {
+		"id", "name", "displayName", "x", "y", "z", "motionX", "motionY", "motionZ", "pitch", "yaw",
+	};
+
+	private static Map<String, Object> getPackedProperties(List<Entity> entities, IWorldLocation location) {
+		int size = entities.size();
+
+		// Seed the known columns, so they are present even when there are no entities.
+		Map<String, Object[]> columns = new HashMap<>();
+		for (String field : PACKED_FIELDS) columns.put(field, new Object[size]);
+
+		// Write each property straight into its column, rather than building a map for every entity.
+		int[] index = new int[1];
+		BiConsumer<String, Object> sink = (key, value) -> columns.computeIfAbsent(key, k -> new Object[size])[index[0]] = value;
+		for (; index[0] < size; index[0]++) MetaEntity.fillBasicProperties(entities.get(index[0]), location, sink);
+
+		Map<String, Object> result = new HashMap<>(columns.size());
+		for (Map.Entry<String, Object[]> column : columns.entrySet()) {
+			result.put(column.getKey(), new LuaArray<>(column.getValue()));
+		}
+		return result;
+	}
+
 	@Optional
 	@PlethoraMethod(module = PlethoraModules.SENSOR_S, doc = "-- Find a nearby entity by UUID")
 	public static TypedMeta<Entity, ?> getMetaByID(
@@ -82,19 +127,11 @@ public final class MethodsSensor {
 
 	@Nullable
 	private static Entity findEntityByUUID(IWorldLocation location, int radius, UUID uuid) {
-		List<Entity> entities = location.getWorld().getEntitiesWithinAABB(Entity.class, getBox(location.getPos(), radius),
-			entity -> DEFAULT_PREDICATE.test(entity) && entity.getUniqueID().equals(uuid));
-		return entities.isEmpty() ? null : entities.get(0);
+		return EntityIndex.getEntity(location.getWorld(), getBox(location.getPos(), radius), uuid);
 	}
 
 	@Nullable
 	private static Entity findEntityByName(IWorldLocation location, int radius, String name) {
-		List<Entity> entities = location.getWorld().getEntitiesWithinAABB(Entity.class, getBox(location.getPos(), radius),
-			entity -> DEFAULT_PREDICATE.test(entity) && Helpers.getName(entity).equals(name));
-
-		return entities.isEmpty() ? null : entities.get(0);
+		return EntityIndex.getEntity(location.getWorld(), getBox(location.getPos(), radius), name);
 	}
-
-	private static final Predicate<Entity> DEFAULT_PREDICATE = entity ->
-		entity != null && entity.isEntityAlive() && (!(entity instanceof EntityPlayer) || !((EntityPlayer) entity).isSpectator());
 }
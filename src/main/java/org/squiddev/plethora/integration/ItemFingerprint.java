@@ -3,6 +3,7 @@ package org.squiddev.plethora.integration;
 import dan200.computercraft.api.lua.LuaException;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.oredict.OreDictionary;
@@ -36,7 +37,11 @@ public class ItemFingerprint {
 	public boolean matches(ItemStack stack) {
 		if (stack.getItem() != item) return false;
 		if (damage != OreDictionary.WILDCARD_VALUE && damage != stack.getItemDamage()) return false;
-		if (hash != null && !hash.equals(MetaItemBasic.getNBTHash(stack))) return false;
+		if (hash != null) {
+			// Only hash the stack's NBT once we know it could possibly match.
+			NBTTagCompound tag = stack.getTagCompound();
+			if (tag == null || tag.isEmpty() || !hash.equals(MetaItemBasic.getNBTHash(tag))) return false;
+		}
 
 		return true;
 	}
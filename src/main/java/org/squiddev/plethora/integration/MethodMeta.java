@@ -1,16 +1,21 @@
 package org.squiddev.plethora.integration;
 
+import dan200.computercraft.api.lua.LuaException;
 import org.squiddev.plethora.api.Injects;
 import org.squiddev.plethora.api.PlethoraAPI;
 import org.squiddev.plethora.api.meta.IMetaRegistry;
 import org.squiddev.plethora.api.method.*;
 
 import javax.annotation.Nonnull;
+import java.util.Set;
+
+import static dan200.computercraft.core.apis.ArgumentHelper.optTable;
 
 @Injects
 public final class MethodMeta extends BasicMethod<Object> implements IConverterExcludeMethod {
 	public MethodMeta() {
-		super("getMetadata", Integer.MIN_VALUE, "function():table -- Get metadata about this object");
+		super("getMetadata", Integer.MIN_VALUE, "function([fields:table]):table -- Get metadata about this object. " +
+			"You may optionally specify a list of keys or mod ids to include, which skips gathering anything else.");
 	}
 
 	@Override
@@ -28,9 +33,16 @@ public final class MethodMeta extends BasicMethod<Object> implements IConverterE
 		return false;
 	}
 
+	@Override
+	public boolean isShapeOnly() {
+		// Any converted values will also be present in the context, and so are part of its shape.
+		return true;
+	}
+
 	@Nonnull
 	@Override
-	public MethodResult apply(@Nonnull IUnbakedContext<Object> context, @Nonnull Object[] args) {
-		return MethodResult.nextTick(() -> MethodResult.result(context.bake().getMeta()));
+	public MethodResult apply(@Nonnull IUnbakedContext<Object> context, @Nonnull Object[] args) throws LuaException {
+		Set<String> filter = ContextHelpers.getMetaFilter(optTable(args, 0, null));
+		return MethodResult.nextTick(() -> MethodResult.result(context.bake().getMeta(filter)));
 	}
 }
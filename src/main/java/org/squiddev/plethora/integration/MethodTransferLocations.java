@@ -24,6 +24,12 @@ public final class MethodTransferLocations extends BasicMethod<IMethodCollection
 		return context.getTarget().has(ITransferMethod.class);
 	}
 
+	@Override
+	public boolean isShapeOnly() {
+		// The method collection is itself determined by the parent context's shape.
+		return true;
+	}
+
 	@Nonnull
 	@Override
 	public MethodResult apply(@Nonnull final IUnbakedContext<IMethodCollection> context, @Nonnull Object[] args) throws LuaException {
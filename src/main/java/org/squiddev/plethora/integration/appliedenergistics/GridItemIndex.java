@@ -0,0 +1,262 @@
+package org.squiddev.plethora.integration.appliedenergistics;
+
+import appeng.api.AEApi;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.networking.storage.IStorageGrid;
+import appeng.api.storage.IBaseMonitor;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.IMEMonitorHandlerReceiver;
+import appeng.api.storage.channels.IItemStorageChannel;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.api.storage.data.IItemList;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraftforge.oredict.OreDictionary;
+import org.squiddev.plethora.integration.ItemFingerprint;
+import org.squiddev.plethora.integration.vanilla.meta.MetaItemBasic;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * An index of the items stored in an AE network, grouped by item and then damage value.
+ *
+ * The index listens to changes to the network's storage. Changes are queued and applied to the affected entries the
+ * next time the index is queried, so it is only fully rebuilt when AE reports the whole list has changed (or when
+ * so many changes have queued up that a rebuild is cheaper). Stacks within the index are those from AE's own storage
+ * list, so include craftable stacks with a size of 0. AE keeps records for stacks which are no longer stored or
+ * craftable; these are not {@link IAEItemStack#isMeaningful() meaningful}, and so are excluded from the index.
+ *
+ * This must only be used from the server thread.
+ */
+final class GridItemIndex implements IMEMonitorHandlerReceiver<IAEItemStack> {
+	private static final Map<IGrid, GridItemIndex> indices = new MapMaker().weakKeys().makeMap();
+	private static final int MIN_PENDING = 64;
+
+	private WeakReference<IMEMonitor<IAEItemStack>> monitor;
+	private boolean dirty = true;
+	private final List<IAEItemStack> pending = new ArrayList<>();
+
+	private final Map<IAEItemStack, Entry> entries = new LinkedHashMap<>();
+	private final Map<Item, ItemEntries> byItem = new IdentityHashMap<>();
+
+	private GridItemIndex() {
+	}
+
+	/**
+	 * Get the index for a grid, updating it with any changes to the network's storage.
+	 *
+	 * @param grid The grid to index.
+	 * @return This grid's index.
+	 */
+	@Nonnull
+	static GridItemIndex get(@Nonnull IGrid grid) {
+		GridItemIndex index = indices.get(grid);
+		if (index == null) indices.put(grid, index = new GridItemIndex());
+
+		IItemStorageChannel channel = AEApi.instance().storage().getStorageChannel(IItemStorageChannel.class);
+		IStorageGrid storageGrid = grid.getCache(IStorageGrid.class);
+		index.refresh(storageGrid.getInventory(channel));
+		return index;
+	}
+
+	private void refresh(@Nonnull IMEMonitor<IAEItemStack> monitor) {
+		IMEMonitor<IAEItemStack> existing = this.monitor == null ? null : this.monitor.get();
+		if (existing != monitor) {
+			// The storage grid has changed (or this is a new index), so listen to the new inventory.
+			this.monitor = new WeakReference<>(monitor);
+			monitor.addListener(this, monitor);
+			dirty = true;
+		}
+
+		IItemList<IAEItemStack> storage = monitor.getStorageList();
+		if (dirty) {
+			dirty = false;
+			pending.clear();
+			rebuild(storage);
+		} else if (!pending.isEmpty()) {
+			for (IAEItemStack change : pending) update(storage, change);
+			pending.clear();
+		}
+	}
+
+	private void rebuild(@Nonnull IItemList<IAEItemStack> storage) {
+		// Reuse the properties of any stack we have already seen.
+		Map<IAEItemStack, Entry> previous = new HashMap<>(entries);
+		entries.clear();
+		byItem.clear();
+
+		for (IAEItemStack stack : storage) {
+			if (!stack.isMeaningful()) continue;
+
+			Entry entry = previous.get(stack);
+			add(entry != null && entry.stack == stack ? entry : new Entry(stack, entry));
+		}
+	}
+
+	/**
+	 * Update the entry for a single changed stack.
+	 *
+	 * @param storage The network's current storage.
+	 * @param change  The stack which has changed.
+	 */
+	private void update(@Nonnull IItemList<IAEItemStack> storage, @Nonnull IAEItemStack change) {
+		IAEItemStack current = storage.findPrecise(change);
+		if (current != null && !current.isMeaningful()) current = null;
+
+		Entry existing = entries.get(change);
+
+		// Stack sizes are read directly from AE's stacks, so there's nothing to do if the stack is still the same.
+		if (existing != null && existing.stack == current) return;
+
+		if (existing != null) remove(existing);
+		if (current != null) add(new Entry(current, existing));
+	}
+
+	private void add(@Nonnull Entry entry) {
+		entries.put(entry.stack, entry);
+
+		Item item = entry.stack.getItem();
+		ItemEntries itemEntries = byItem.get(item);
+		if (itemEntries == null) byItem.put(item, itemEntries = new ItemEntries());
+		itemEntries.add(entry);
+	}
+
+	private void remove(@Nonnull Entry entry) {
+		entries.remove(entry.stack);
+
+		Item item = entry.stack.getItem();
+		ItemEntries itemEntries = byItem.get(item);
+		if (itemEntries != null && itemEntries.remove(entry)) byItem.remove(item);
+	}
+
+	/**
+	 * Get every stack in the network. As stack sizes are read from AE's stacks, callers should skip any entry whose
+	 * stack is no longer {@link IAEItemStack#isMeaningful() meaningful}.
+	 *
+	 * @return All stacks in the network.
+	 */
+	@Nonnull
+	Collection<Entry> getEntries() {
+		return entries.values();
+	}
+
+	/**
+	 * Find every stack matching a fingerprint.
+	 *
+	 * @param fingerprint The fingerprint to match against.
+	 * @param limit       The maximum number of stacks to find.
+	 * @return The matching stacks.
+	 */
+	@Nonnull
+	List<IAEItemStack> find(@Nonnull ItemFingerprint fingerprint, int limit) {
+		ItemEntries itemEntries = byItem.get(fingerprint.item);
+		if (itemEntries == null) return Collections.emptyList();
+
+		List<Entry> candidates = fingerprint.damage == OreDictionary.WILDCARD_VALUE
+			? itemEntries.all
+			: itemEntries.byDamage.get(fingerprint.damage);
+		if (candidates == null) return Collections.emptyList();
+
+		List<IAEItemStack> result = new ArrayList<>(Math.min(limit, candidates.size()));
+		for (Entry entry : candidates) {
+			IAEItemStack stack = entry.stack;
+			if (stack.isMeaningful() && fingerprint.matches(stack.getDefinition())) {
+				result.add(stack);
+				if (result.size() >= limit) break;
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean isValid(Object verificationToken) {
+		IMEMonitor<IAEItemStack> monitor = this.monitor == null ? null : this.monitor.get();
+		return monitor == verificationToken;
+	}
+
+	@Override
+	public void postChange(IBaseMonitor<IAEItemStack> monitor, Iterable<IAEItemStack> change, IActionSource actionSource) {
+		if (dirty) return;
+
+		// AE may reuse these stacks, so we store a copy.
+		for (IAEItemStack stack : change) pending.add(stack.copy());
+
+		// If nobody has queried the index for a while, it's cheaper to rebuild it than to apply every change.
+		if (pending.size() > Math.max(MIN_PENDING, entries.size())) {
+			dirty = true;
+			pending.clear();
+		}
+	}
+
+	@Override
+	public void onListUpdate() {
+		dirty = true;
+		pending.clear();
+	}
+
+	/**
+	 * A stack within the network, along with its cached properties.
+	 */
+	static final class Entry {
+		final IAEItemStack stack;
+		private Map<String, Object> basicMeta;
+
+		Entry(IAEItemStack stack, @Nullable Entry previous) {
+			this.stack = stack;
+			if (previous != null) basicMeta = previous.basicMeta;
+		}
+
+		/**
+		 * Get the basic properties of this stack. The item name, damage and NBT hash of an AE stack never change, so
+		 * these are computed once. The count and craftable status are not cached.
+		 *
+		 * @return The stack's properties. This map may be freely modified.
+		 */
+		@Nonnull
+		HashMap<String, Object> getProperties() {
+			if (basicMeta == null) basicMeta = MetaItemBasic.getBasicMeta(stack.getDefinition());
+
+			HashMap<String, Object> data = new HashMap<>(basicMeta);
+			data.put("count", stack.getStackSize());
+			data.put("isCraftable", stack.isCraftable());
+			return data;
+		}
+	}
+
+	private static final class ItemEntries {
+		final List<Entry> all = new ArrayList<>(1);
+		final Int2ObjectMap<List<Entry>> byDamage = new Int2ObjectOpenHashMap<>();
+
+		void add(@Nonnull Entry entry) {
+			all.add(entry);
+
+			int damage = entry.stack.getItemDamage();
+			List<Entry> damageEntries = byDamage.get(damage);
+			if (damageEntries == null) byDamage.put(damage, damageEntries = new ArrayList<>(1));
+			damageEntries.add(entry);
+		}
+
+		/**
+		 * Remove an entry from this item's entries.
+		 *
+		 * @param entry The entry to remove.
+		 * @return Whether this item no longer has any entries.
+		 */
+		boolean remove(@Nonnull Entry entry) {
+			all.remove(entry);
+
+			int damage = entry.stack.getItemDamage();
+			List<Entry> damageEntries = byDamage.get(damage);
+			if (damageEntries != null && damageEntries.remove(entry) && damageEntries.isEmpty()) byDamage.remove(damage);
+
+			return all.isEmpty();
+		}
+	}
+}
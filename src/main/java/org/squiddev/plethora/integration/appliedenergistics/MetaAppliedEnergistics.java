@@ -14,7 +14,6 @@ import org.squiddev.plethora.api.meta.BasicMetaProvider;
 import org.squiddev.plethora.api.meta.IMetaProvider;
 import org.squiddev.plethora.api.meta.SimpleMetaProvider;
 import org.squiddev.plethora.api.method.IPartialContext;
-import org.squiddev.plethora.integration.vanilla.meta.MetaItemBasic;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -69,13 +68,4 @@ public final class MetaAppliedEnergistics {
 
 	private MetaAppliedEnergistics() {
 	}
-
-	@Nonnull
-	static HashMap<String, Object> getItemStackProperties(@Nonnull IAEItemStack stack) {
-		HashMap<String, Object> data = new HashMap<>();
-		data.putAll(MetaItemBasic.getBasicMeta(stack.getDefinition()));
-		data.put("count", stack.getStackSize());
-		data.put("isCraftable", stack.isCraftable());
-		return data;
-	}
 }
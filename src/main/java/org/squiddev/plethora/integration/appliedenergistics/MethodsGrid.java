@@ -1,15 +1,11 @@
 package org.squiddev.plethora.integration.appliedenergistics;
 
-import appeng.api.AEApi;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridBlock;
 import appeng.api.networking.crafting.ICraftingCPU;
 import appeng.api.networking.crafting.ICraftingGrid;
 import appeng.api.networking.energy.IEnergyGrid;
-import appeng.api.networking.storage.IStorageGrid;
-import appeng.api.storage.channels.IItemStorageChannel;
 import appeng.api.storage.data.IAEItemStack;
-import appeng.api.storage.data.IItemList;
 import appeng.core.AppEng;
 import org.squiddev.plethora.api.meta.TypedMeta;
 import org.squiddev.plethora.api.method.ContextHelpers;
@@ -21,11 +17,11 @@ import org.squiddev.plethora.api.method.wrapper.Optional;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.integration.ItemFingerprint;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import static org.squiddev.plethora.integration.appliedenergistics.MetaAppliedEnergistics.getItemStackProperties;
-
 public final class MethodsGrid {
 	private MethodsGrid() {
 	}
@@ -49,13 +45,12 @@ public final class MethodsGrid {
 
 	@PlethoraMethod(modId = AppEng.MOD_ID, doc = "-- List all items which are stored in the network")
 	public static Map<Integer, ?> listAvailableItems(IContext<IGrid> context) {
-		IGrid grid = context.getTarget();
-		IStorageGrid storageGrid = grid.getCache(IStorageGrid.class);
-		IItemStorageChannel channel = AEApi.instance().storage().getStorageChannel(IItemStorageChannel.class);
-		IItemList<IAEItemStack> items = storageGrid.getInventory(channel).getStorageList();
+		Collection<GridItemIndex.Entry> entries = GridItemIndex.get(context.getTarget()).getEntries();
 
-		LuaList<Map<String, ?>> output = new LuaList<>(items.size());
-		for (IAEItemStack stack : items) output.add(getItemStackProperties(stack));
+		LuaList<Map<String, ?>> output = new LuaList<>(entries.size());
+		for (GridItemIndex.Entry entry : entries) {
+			if (entry.stack.isMeaningful()) output.add(entry.getProperties());
+		}
 		return output.asMap();
 	}
 
@@ -80,16 +75,11 @@ public final class MethodsGrid {
 			"leave the other fields empty."
 	)
 	public static Map<Integer, TypedLuaObject<IAEItemStack>> findItems(IContext<IGrid> context, ItemFingerprint item) {
-		IItemStorageChannel channel = AEApi.instance().storage().getStorageChannel(IItemStorageChannel.class);
-		IStorageGrid grid = context.getTarget().getCache(IStorageGrid.class);
+		List<IAEItemStack> stacks = GridItemIndex.get(context.getTarget()).find(item, Integer.MAX_VALUE);
 
 		int i = 0;
 		Map<Integer, TypedLuaObject<IAEItemStack>> out = new HashMap<>();
-		for (IAEItemStack aeStack : grid.getInventory(channel).getStorageList()) {
-			if (item.matches(aeStack.getDefinition())) {
-				out.put(++i, context.makeChildId(aeStack).getObject());
-			}
-		}
+		for (IAEItemStack aeStack : stacks) out.put(++i, context.makeChildId(aeStack).getObject());
 
 		return out;
 	}
@@ -101,13 +91,7 @@ public final class MethodsGrid {
 	}
 
 	private static IAEItemStack findStack(IGrid network, ItemFingerprint fingerprint) {
-		IItemStorageChannel channel = AEApi.instance().storage().getStorageChannel(IItemStorageChannel.class);
-		IStorageGrid grid = network.getCache(IStorageGrid.class);
-
-		for (IAEItemStack aeStack : grid.getInventory(channel).getStorageList()) {
-			if (fingerprint.matches(aeStack.getDefinition())) return aeStack;
-		}
-
-		return null;
+		List<IAEItemStack> stacks = GridItemIndex.get(network).find(fingerprint, 1);
+		return stacks.isEmpty() ? null : stacks.get(0);
 	}
 }
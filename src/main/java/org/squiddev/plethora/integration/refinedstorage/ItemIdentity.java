@@ -26,7 +26,7 @@ public class ItemIdentity {
 
 	@Override
 	public int hashCode() {
-		return stack.getItem().hashCode() << 4 + stack.getItemDamage();
+		return 31 * stack.getItem().hashCode() + stack.getItemDamage();
 	}
 
 	public static boolean equals(ItemStack left, ItemStack right) {
@@ -1,18 +1,15 @@
 package org.squiddev.plethora.integration.refinedstorage;
 
 import com.raoulvdberge.refinedstorage.RS;
-import com.raoulvdberge.refinedstorage.api.autocrafting.ICraftingPattern;
 import com.raoulvdberge.refinedstorage.api.autocrafting.task.ICraftingTask;
 import com.raoulvdberge.refinedstorage.api.network.INetwork;
 import com.raoulvdberge.refinedstorage.api.network.node.INetworkNode;
-import net.minecraft.item.ItemStack;
 import org.squiddev.plethora.api.method.IContext;
 import org.squiddev.plethora.api.method.TypedLuaObject;
 import org.squiddev.plethora.api.method.wrapper.FromTarget;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.integration.ItemFingerprint;
 import org.squiddev.plethora.integration.vanilla.NullableItemStack;
-import org.squiddev.plethora.integration.vanilla.meta.MetaItemBasic;
 
 import java.util.*;
 
@@ -46,31 +43,11 @@ public final class MethodsNetworkNode {
 		INetwork network = context.getTarget().getNetwork();
 		if (network == null) return Collections.emptyMap();
 
-		Collection<ItemStack> items = network.getItemStorageCache().getList().getStacks();
-		HashMap<ItemIdentity, Map<String, Object>> seen = new HashMap<>();
-		Map<Integer, Map<String, Object>> output = new HashMap<>(items.size());
+		Collection<NetworkItemIndex.Entry> entries = NetworkItemIndex.get(network).getEntries();
+		Map<Integer, Map<String, Object>> output = new HashMap<>(entries.size());
 
 		int i = 0;
-		for (ItemStack stack : items) {
-			Map<String, Object> basic = MetaItemBasic.getBasicMeta(stack);
-			seen.put(new ItemIdentity(stack), basic);
-			output.put(++i, basic);
-		}
-
-		for (ICraftingPattern pattern : network.getCraftingManager().getPatterns()) {
-			for (ItemStack stack : pattern.getOutputs()) {
-				if (stack == null || stack.isEmpty()) continue;
-				ItemIdentity key = new ItemIdentity(stack);
-				Map<String, Object> basic = seen.get(key);
-				if (basic == null) {
-					basic = MetaItemBasic.getBasicMeta(stack);
-					basic.put("count", 0);
-					output.put(++i, basic);
-				}
-
-				basic.put("isCraftable", true);
-			}
-		}
+		for (NetworkItemIndex.Entry entry : entries) output.put(++i, entry.getProperties());
 
 		return output;
 	}
@@ -86,21 +63,8 @@ public final class MethodsNetworkNode {
 		INetwork network = context.getTarget().getNetwork();
 		if (network == null) return null;
 
-		for (ItemStack stack : network.getItemStorageCache().getList().getStacks()) {
-			if (item.matches(stack)) {
-				return context.makeChildId(NullableItemStack.normal(stack)).getObject();
-			}
-		}
-
-		for (ICraftingPattern pattern : network.getCraftingManager().getPatterns()) {
-			for (ItemStack stack : pattern.getOutputs()) {
-				if (item.matches(stack)) {
-					return context.makeChildId(NullableItemStack.empty(stack)).getObject();
-				}
-			}
-		}
-
-		return null;
+		List<NullableItemStack> stacks = NetworkItemIndex.get(network).find(item, 1);
+		return stacks.isEmpty() ? null : context.makeChildId(stacks.get(0)).getObject();
 	}
 
 	@PlethoraMethod(
@@ -114,23 +78,10 @@ public final class MethodsNetworkNode {
 		INetwork network = context.getTarget().getNetwork();
 		if (network == null) return Collections.emptyMap();
 
-		Set<ItemIdentity> seen = new HashSet<>();
-
 		int i = 0;
 		Map<Integer, TypedLuaObject<NullableItemStack>> out = new HashMap<>();
-		for (ItemStack stack : network.getItemStorageCache().getList().getStacks()) {
-			if (item.matches(stack)) {
-				seen.add(new ItemIdentity(stack));
-				out.put(++i, context.makeChildId(NullableItemStack.normal(stack)).getObject());
-			}
-		}
-
-		for (ICraftingPattern pattern : network.getCraftingManager().getPatterns()) {
-			for (ItemStack stack : pattern.getOutputs()) {
-				if (stack != null && item.matches(stack) && seen.add(new ItemIdentity(stack))) {
-					out.put(++i, context.makeChildId(NullableItemStack.empty(stack)).getObject());
-				}
-			}
+		for (NullableItemStack stack : NetworkItemIndex.get(network).find(item, Integer.MAX_VALUE)) {
+			out.put(++i, context.makeChildId(stack).getObject());
 		}
 
 		return out;
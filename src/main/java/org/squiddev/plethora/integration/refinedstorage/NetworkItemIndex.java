@@ -0,0 +1,302 @@
+package org.squiddev.plethora.integration.refinedstorage;
+
+import com.google.common.collect.MapMaker;
+import com.raoulvdberge.refinedstorage.api.autocrafting.ICraftingPattern;
+import com.raoulvdberge.refinedstorage.api.network.INetwork;
+import com.raoulvdberge.refinedstorage.api.storage.IStorageCache;
+import com.raoulvdberge.refinedstorage.api.storage.IStorageCacheListener;
+import com.raoulvdberge.refinedstorage.api.util.IStackList;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.apache.commons.lang3.tuple.Pair;
+import org.squiddev.plethora.integration.ItemFingerprint;
+import org.squiddev.plethora.integration.vanilla.NullableItemStack;
+import org.squiddev.plethora.integration.vanilla.meta.MetaItemBasic;
+
+import javax.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * An index of the items stored in, or craftable by, a Refined Storage network.
+ *
+ * The index listens to changes to the network's item storage cache. Changes are queued and applied to the affected
+ * entries the next time the index is queried, so it is only fully rebuilt when the cache is invalidated or the
+ * network's patterns change (or when so many changes have queued up that a rebuild is cheaper).
+ *
+ * This must only be used from the server thread.
+ */
+final class NetworkItemIndex implements IStorageCacheListener<ItemStack> {
+	private static final Map<INetwork, NetworkItemIndex> indices = new MapMaker().weakKeys().makeMap();
+	private static final int MIN_PENDING = 64;
+
+	private WeakReference<IStorageCache<ItemStack>> cache;
+	private boolean dirty = true;
+	private final List<ItemStack> pending = new ArrayList<>();
+
+	private final List<ICraftingPattern> patterns = new ArrayList<>();
+	private Map<ItemIdentity, ItemStack> craftable = Collections.emptyMap();
+
+	private final Map<ItemIdentity, Entry> stored = new LinkedHashMap<>();
+	private final Map<ItemIdentity, Entry> craftableOnly = new LinkedHashMap<>();
+	private final Map<Item, List<Entry>> byItem = new IdentityHashMap<>();
+
+	private NetworkItemIndex() {
+	}
+
+	/**
+	 * Get the index for a network, updating it with any changes to the network's storage or patterns.
+	 *
+	 * @param network The network to index.
+	 * @return This network's index.
+	 */
+	@Nonnull
+	static NetworkItemIndex get(@Nonnull INetwork network) {
+		NetworkItemIndex index = indices.get(network);
+		if (index == null) indices.put(network, index = new NetworkItemIndex());
+
+		index.refresh(network);
+		return index;
+	}
+
+	private void refresh(@Nonnull INetwork network) {
+		IStorageCache<ItemStack> cache = network.getItemStorageCache();
+		IStorageCache<ItemStack> existing = this.cache == null ? null : this.cache.get();
+		if (existing != cache) {
+			// The storage cache has changed (or this is a new index), so listen to the new one.
+			this.cache = new WeakReference<>(cache);
+			cache.addListener(this);
+			dirty = true;
+		}
+
+		if (refreshPatterns(network.getCraftingManager().getPatterns())) dirty = true;
+
+		IStackList<ItemStack> list = cache.getList();
+		if (dirty) {
+			dirty = false;
+			pending.clear();
+			rebuild(list);
+		} else if (!pending.isEmpty()) {
+			for (ItemStack change : pending) update(list, change);
+			pending.clear();
+		}
+	}
+
+	private void rebuild(@Nonnull IStackList<ItemStack> list) {
+		// Reuse the properties of any item we have already seen.
+		Map<ItemIdentity, Entry> previous = new HashMap<>(stored.size() + craftableOnly.size());
+		previous.putAll(craftableOnly);
+		previous.putAll(stored);
+
+		stored.clear();
+		craftableOnly.clear();
+		byItem.clear();
+
+		for (ItemStack stack : list.getStacks()) {
+			ItemIdentity key = new ItemIdentity(stack);
+			if (!stored.containsKey(key)) add(key, new Entry(stack, true, craftable.containsKey(key), previous.get(key)));
+		}
+
+		for (Map.Entry<ItemIdentity, ItemStack> output : craftable.entrySet()) {
+			ItemIdentity key = output.getKey();
+			if (!stored.containsKey(key)) add(key, new Entry(output.getValue(), false, true, previous.get(key)));
+		}
+	}
+
+	/**
+	 * Update the entry for a single changed item.
+	 *
+	 * @param list   The network's current storage.
+	 * @param change The item which has changed.
+	 */
+	private void update(@Nonnull IStackList<ItemStack> list, @Nonnull ItemStack change) {
+		ItemIdentity key = new ItemIdentity(change);
+		ItemStack current = list.get(change);
+		Entry existing = stored.get(key);
+		if (existing == null) existing = craftableOnly.get(key);
+
+		// Counts are read directly from RS's stacks, so there's nothing to do if the stack is still the same.
+		if (existing != null && existing.stored && existing.stack == current) return;
+
+		if (existing != null) remove(key, existing);
+
+		ItemStack output = craftable.get(key);
+		if (current != null) {
+			add(key, new Entry(current, true, output != null, existing));
+		} else if (output != null) {
+			add(key, new Entry(output, false, true, existing));
+		}
+	}
+
+	/**
+	 * Update our copy of the network's patterns, recomputing the set of craftable items if they have changed.
+	 *
+	 * @param current The network's current patterns.
+	 * @return If the patterns have changed.
+	 */
+	private boolean refreshPatterns(@Nonnull Collection<ICraftingPattern> current) {
+		if (current.size() == patterns.size()) {
+			boolean same = true;
+			Iterator<ICraftingPattern> existing = patterns.iterator();
+			for (ICraftingPattern pattern : current) {
+				if (pattern != existing.next()) {
+					same = false;
+					break;
+				}
+			}
+
+			if (same) return false;
+		}
+
+		patterns.clear();
+		patterns.addAll(current);
+
+		Map<ItemIdentity, ItemStack> craftable = new LinkedHashMap<>();
+		for (ICraftingPattern pattern : patterns) {
+			for (ItemStack stack : pattern.getOutputs()) {
+				if (stack != null && !stack.isEmpty()) craftable.putIfAbsent(new ItemIdentity(stack), stack);
+			}
+		}
+		this.craftable = craftable;
+
+		return true;
+	}
+
+	private void add(@Nonnull ItemIdentity key, @Nonnull Entry entry) {
+		(entry.stored ? stored : craftableOnly).put(key, entry);
+
+		Item item = entry.stack.getItem();
+		List<Entry> itemEntries = byItem.get(item);
+		if (itemEntries == null) byItem.put(item, itemEntries = new ArrayList<>(1));
+		itemEntries.add(entry);
+	}
+
+	private void remove(@Nonnull ItemIdentity key, @Nonnull Entry entry) {
+		(entry.stored ? stored : craftableOnly).remove(key);
+
+		Item item = entry.stack.getItem();
+		List<Entry> itemEntries = byItem.get(item);
+		if (itemEntries != null && itemEntries.remove(entry) && itemEntries.isEmpty()) byItem.remove(item);
+	}
+
+	/**
+	 * Get every item in the network. Stored items come first, followed by those which are only craftable.
+	 *
+	 * @return All items in the network.
+	 */
+	@Nonnull
+	Collection<Entry> getEntries() {
+		List<Entry> entries = new ArrayList<>(stored.size() + craftableOnly.size());
+		entries.addAll(stored.values());
+		entries.addAll(craftableOnly.values());
+		return entries;
+	}
+
+	/**
+	 * Find every item matching a fingerprint. Stored items come first, followed by those which are only craftable.
+	 *
+	 * @param fingerprint The fingerprint to match against.
+	 * @param limit       The maximum number of items to find.
+	 * @return The matching items.
+	 */
+	@Nonnull
+	List<NullableItemStack> find(@Nonnull ItemFingerprint fingerprint, int limit) {
+		List<Entry> candidates = byItem.get(fingerprint.item);
+		if (candidates == null) return Collections.emptyList();
+
+		List<NullableItemStack> stored = new ArrayList<>(Math.min(limit, candidates.size()));
+		List<NullableItemStack> craftable = new ArrayList<>(0);
+		for (Entry entry : candidates) {
+			if (!fingerprint.matches(entry.stack)) continue;
+
+			if (entry.stored) {
+				stored.add(NullableItemStack.normal(entry.stack));
+				if (stored.size() >= limit) return stored;
+			} else if (stored.size() + craftable.size() < limit) {
+				craftable.add(NullableItemStack.empty(entry.stack));
+			}
+		}
+
+		stored.addAll(craftable.subList(0, Math.min(craftable.size(), limit - stored.size())));
+		return stored;
+	}
+
+	@Override
+	public void onAttached() {
+		dirty = true;
+		pending.clear();
+	}
+
+	@Override
+	public void onInvalidated() {
+		dirty = true;
+		pending.clear();
+	}
+
+	@Override
+	public void onChanged(@Nonnull ItemStack stack, int size) {
+		queue(stack);
+	}
+
+	@Override
+	public void onChangedBulk(@Nonnull List<Pair<ItemStack, Integer>> stacks) {
+		for (Pair<ItemStack, Integer> stack : stacks) {
+			if (!queue(stack.getLeft())) break;
+		}
+	}
+
+	/**
+	 * Queue a changed item, to be applied when the index is next queried.
+	 *
+	 * @param stack The item which has changed.
+	 * @return Whether further changes need to be queued. This is false when the index will be rebuilt anyway.
+	 */
+	private boolean queue(@Nonnull ItemStack stack) {
+		if (dirty) return false;
+
+		// RS may modify this stack later, so we store a copy.
+		pending.add(stack.copy());
+
+		// If nobody has queried the index for a while, it's cheaper to rebuild it than to apply every change.
+		if (pending.size() > Math.max(MIN_PENDING, stored.size() + craftableOnly.size())) {
+			dirty = true;
+			pending.clear();
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * An item within the network, along with its cached properties.
+	 */
+	static final class Entry {
+		final ItemStack stack;
+		final boolean stored;
+		final boolean craftable;
+		private Map<String, Object> basicMeta;
+
+		Entry(ItemStack stack, boolean stored, boolean craftable, Entry previous) {
+			this.stack = stack;
+			this.stored = stored;
+			this.craftable = craftable;
+			if (previous != null) basicMeta = previous.basicMeta;
+		}
+
+		/**
+		 * Get the basic properties of this item. The name, damage and NBT hash never change, so these are computed
+		 * once and reused across rebuilds of the index.
+		 *
+		 * @return The item's properties. This map may be freely modified.
+		 */
+		@Nonnull
+		Map<String, Object> getProperties() {
+			if (basicMeta == null) basicMeta = MetaItemBasic.getBasicMeta(stack);
+
+			HashMap<String, Object> data = new HashMap<>(basicMeta);
+			data.put("count", stored ? stack.getCount() : 0);
+			if (craftable) data.put("isCraftable", true);
+			return data;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.squiddev.plethora.integration.vanilla.meta;
 
+import com.google.common.collect.ImmutableSet;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityXPOrb;
 import net.minecraft.util.math.MathHelper;
@@ -16,13 +17,25 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 @Injects
 public final class MetaEntity extends BaseMetaProvider<Entity> {
+	private static final Set<String> KEYS = ImmutableSet.of(
+		"id", "name", "displayName", "motionX", "motionY", "motionZ", "pitch", "yaw", "x", "y", "z", "withinBlock"
+	);
+
 	public MetaEntity() {
 		super("Provides some basic information about an entity, such as their their UUID and name.");
 	}
 
+	@Nonnull
+	@Override
+	public Set<String> getKeys() {
+		return KEYS;
+	}
+
 	@Nonnull
 	@Override
 	public Map<String, ?> getMeta(@Nonnull IPartialContext<Entity> context) {
@@ -46,26 +59,37 @@ public final class MetaEntity extends BaseMetaProvider<Entity> {
 
 	public static HashMap<String, Object> getBasicProperties(@Nonnull Entity entity, @Nullable IWorldLocation location) {
 		HashMap<String, Object> result = new HashMap<>();
-		result.put("id", entity.getUniqueID().toString());
+		fillBasicProperties(entity, location, result::put);
+		return result;
+	}
+
+	/**
+	 * Write the basic properties of an entity to a consumer, rather than building a map of them.
+	 *
+	 * @param entity   The entity to get properties for.
+	 * @param location The location to compute the entity's position relative to.
+	 * @param out      The consumer to write each property to.
+	 * @see #getBasicProperties(Entity, IWorldLocation)
+	 */
+	public static void fillBasicProperties(@Nonnull Entity entity, @Nullable IWorldLocation location, @Nonnull BiConsumer<String, Object> out) {
+		out.accept("id", entity.getUniqueID().toString());
 
-		result.put("name", Helpers.getName(entity));
-		result.put("displayName", entity.getName());
+		out.accept("name", Helpers.getName(entity));
+		out.accept("displayName", entity.getName());
 
-		result.put("motionX", entity.motionX);
-		result.put("motionY", entity.motionY);
-		result.put("motionZ", entity.motionZ);
+		out.accept("motionX", entity.motionX);
+		out.accept("motionY", entity.motionY);
+		out.accept("motionZ", entity.motionZ);
 
-		result.put("pitch", entity.rotationPitch);
-		result.put("yaw", entity.rotationYaw);
+		out.accept("pitch", entity.rotationPitch);
+		out.accept("yaw", entity.rotationYaw);
 
 		if (location != null && location.getWorld() == entity.getEntityWorld()) {
 			Vec3d pos = location.getLoc();
-			result.put("x", entity.posX - pos.x);
-			result.put("y", entity.posY + entity.getEyeHeight() - pos.y);
-			result.put("z", entity.posZ - pos.z);
+			out.accept("x", entity.posX - pos.x);
+			out.accept("y", entity.posY + entity.getEyeHeight() - pos.y);
+			out.accept("z", entity.posZ - pos.z);
 		}
-
-		return result;
 	}
 
 	@Nonnull
@@ -1,5 +1,6 @@
 package org.squiddev.plethora.integration.vanilla.meta;
 
+import com.google.common.collect.ImmutableSet;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.monster.EntityZombie;
@@ -17,12 +18,25 @@ import org.squiddev.plethora.utils.WorldDummy;
 import javax.annotation.Nonnull;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A basic provider for living entities
  */
 @Injects
 public final class MetaEntityLiving extends BaseMetaProvider<EntityLivingBase> {
+	private static final Set<String> KEYS = ImmutableSet.of(
+		"armor", "heldItem", "offhandItem", "potionEffects", "health", "maxHealth",
+		"isAirborne", "isBurning", "isAlive", "isInWater", "isOnLadder", "isSleeping", "isRiding", "isSneaking",
+		"isSprinting", "isWet", "isChild", "isDead", "isElytraFlying"
+	);
+
+	@Nonnull
+	@Override
+	public Set<String> getKeys() {
+		return KEYS;
+	}
+
 	@Nonnull
 	@Override
 	public Map<String, ?> getMeta(@Nonnull IPartialContext<EntityLivingBase> context) {
@@ -1,5 +1,6 @@
 package org.squiddev.plethora.integration.vanilla.meta;
 
+import com.google.common.collect.ImmutableSet;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.*;
@@ -9,6 +10,7 @@ import org.apache.commons.io.output.NullOutputStream;
 import org.squiddev.plethora.api.Injects;
 import org.squiddev.plethora.api.meta.BasicMetaProvider;
 import org.squiddev.plethora.api.method.LuaList;
+import org.squiddev.plethora.core.ConfigCore;
 import org.squiddev.plethora.integration.PlethoraIntegration;
 
 import javax.annotation.Nonnull;
@@ -23,12 +25,23 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Adds basic properties for item stacks.
  */
 @Injects
 public final class MetaItemBasic extends BasicMetaProvider<ItemStack> {
+	private static final Set<String> KEYS = ImmutableSet.of(
+		"name", "damage", "count", "nbtHash", "displayName", "rawName", "maxCount", "maxDamage", "durability", "lore"
+	);
+
+	@Nonnull
+	@Override
+	public Set<String> getKeys() {
+		return KEYS;
+	}
+
 	@Nonnull
 	@Override
 	public Map<String, ?> getMeta(@Nonnull ItemStack stack) {
@@ -88,10 +101,21 @@ public final class MetaItemBasic extends BasicMetaProvider<ItemStack> {
 		return stack.hasTagCompound() ? getNBTHash(stack.getTagCompound()) : null;
 	}
 
+	/**
+	 * Get a hash of an NBT tag.
+	 *
+	 * @param tag The tag to hash.
+	 * @return The tag's hash, or {@code null} if the tag is empty.
+	 * @see ConfigCore.Metadata#fastNbtHash
+	 */
 	@Nullable
 	public static String getNBTHash(@Nullable NBTTagCompound tag) {
 		if (tag == null || tag.isEmpty()) return null;
+		return ConfigCore.Metadata.fastNbtHash ? String.format("%016x", getFastHash(tag)) : getDigestHash(tag);
+	}
 
+	@Nullable
+	private static String getDigestHash(@Nonnull NBTTagCompound tag) {
 		try {
 			MessageDigest digest = MessageDigest.getInstance("MD5");
 			OutputStream dump = new NullOutputStream();
@@ -105,4 +129,47 @@ public final class MetaItemBasic extends BasicMetaProvider<ItemStack> {
 			return null;
 		}
 	}
+
+	/**
+	 * Compute a 64-bit hash of an NBT tag, by walking its structure. Unlike serialising the tag, this does not depend
+	 * on the order of a compound's keys.
+	 *
+	 * @param tag The tag to hash.
+	 * @return The tag's hash.
+	 */
+	private static long getFastHash(@Nonnull NBTBase tag) {
+		long hash;
+		switch (tag.getId()) {
+			case Constants.NBT.TAG_COMPOUND: {
+				NBTTagCompound compound = (NBTTagCompound) tag;
+				hash = 0;
+				for (String key : compound.getKeySet()) {
+					hash += mix(key.hashCode() * 0x9E3779B97F4A7C15L ^ getFastHash(compound.getTag(key)));
+				}
+				break;
+			}
+			case Constants.NBT.TAG_LIST: {
+				hash = 1;
+				for (NBTBase child : (NBTTagList) tag) hash = hash * 31 + getFastHash(child);
+				break;
+			}
+			default:
+				hash = tag.hashCode();
+				break;
+		}
+
+		return mix(hash ^ tag.getId());
+	}
+
+	/**
+	 * The finaliser from MurmurHash3, used to spread bits across the hash.
+	 */
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
 }
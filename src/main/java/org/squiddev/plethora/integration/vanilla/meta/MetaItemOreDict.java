@@ -10,12 +10,21 @@ import javax.annotation.Nonnull;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Provides Ore Dictionary lookup for items
  */
 @Injects
 public final class MetaItemOreDict extends BasicMetaProvider<ItemStack> {
+	private static final Set<String> KEYS = Collections.singleton("ores");
+
+	@Nonnull
+	@Override
+	public Set<String> getKeys() {
+		return KEYS;
+	}
+
 	@Nonnull
 	@Override
 	public Map<String, ?> getMeta(@Nonnull ItemStack stack) {
@@ -4,6 +4,7 @@ import dan200.computercraft.api.lua.LuaException;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.items.IItemHandler;
 import org.squiddev.plethora.api.meta.TypedMeta;
+import org.squiddev.plethora.api.method.ContextHelpers;
 import org.squiddev.plethora.api.method.IContext;
 import org.squiddev.plethora.api.method.TypedLuaObject;
 import org.squiddev.plethora.api.method.wrapper.FromTarget;
@@ -53,12 +54,13 @@ public final class MethodsInventory {
 	}
 
 	@Optional
-	@PlethoraMethod(doc = "-- The metadata of the item in the specified slot. The slot number starts from 1.")
-	public static TypedMeta<ItemStack, ?> getItemMeta(IContext<IItemHandler> context, int slot) throws LuaException {
+	@PlethoraMethod(doc = "-- The metadata of the item in the specified slot. The slot number starts from 1. " +
+		"You may optionally specify a list of keys or mod ids to include.")
+	public static TypedMeta<ItemStack, ?> getItemMeta(IContext<IItemHandler> context, int slot, @Optional Map<?, ?> fields) throws LuaException {
 		IItemHandler inventory = context.getTarget();
 		assertBetween(slot, 1, inventory.getSlots(), "Slot out of range (%s)");
 
 		ItemStack stack = inventory.getStackInSlot(slot - 1);
-		return stack.isEmpty() ? null : context.makePartialChild(stack).getMeta();
+		return stack.isEmpty() ? null : context.makePartialChild(stack).getMeta(ContextHelpers.getMetaFilter(fields));
 	}
 }
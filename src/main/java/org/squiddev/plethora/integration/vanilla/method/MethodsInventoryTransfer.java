@@ -12,11 +12,14 @@ import org.squiddev.plethora.api.method.ITransferMethod;
 import org.squiddev.plethora.api.method.MarkerInterfaces;
 import org.squiddev.plethora.api.method.wrapper.Optional;
 import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
+import org.squiddev.plethora.integration.ItemFingerprint;
+import org.squiddev.plethora.utils.LuaArray;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Map;
 
-import static org.squiddev.plethora.api.method.ArgumentHelper.assertBetween;
+import static org.squiddev.plethora.api.method.ArgumentHelper.*;
 
 /**
  * Various methods for inventory transfer
@@ -32,13 +35,7 @@ public final class MethodsInventoryTransfer {
 		String toName, int fromSlot, @Optional(defInt = Integer.MAX_VALUE) int limit, @Optional int toSlot
 	) throws LuaException {
 		IItemHandler from = context.getTarget();
-
-		// Find location to transfer to
-		Object location = context.getTransferLocation(toName);
-		if (location == null) throw new LuaException("Target '" + toName + "' does not exist");
-
-		IItemHandler to = extractHandler(location);
-		if (to == null) throw new LuaException("Target '" + toName + "' is not an inventory");
+		IItemHandler to = getHandler(context, toName, "Target");
 
 		// Validate slots
 		if (limit <= 0) throw new LuaException("Limit must be > 0");
@@ -55,13 +52,7 @@ public final class MethodsInventoryTransfer {
 		String fromName, int fromSlot, @Optional(defInt = Integer.MAX_VALUE) int limit, @Optional int toSlot
 	) throws LuaException {
 		IItemHandler to = context.getTarget();
-
-		// Find location to transfer to
-		Object location = context.getTransferLocation(fromName);
-		if (location == null) throw new LuaException("Source '" + fromName + "' does not exist");
-
-		IItemHandler from = extractHandler(location);
-		if (from == null) throw new LuaException("Source '" + fromName + "' is not an inventory");
+		IItemHandler from = getHandler(context, fromName, "Source");
 
 		// Validate slots
 		if (limit <= 0) throw new LuaException("Limit must be > 0");
@@ -71,6 +62,67 @@ public final class MethodsInventoryTransfer {
 		return moveItem(from, fromSlot - 1, to, toSlot - 1, limit);
 	}
 
+	@PlethoraMethod(doc = "function(toName:string, moves:table):table -- Push items from this inventory to another " +
+		"inventory. Each move is a table with a 'fromSlot' field, and optional 'limit' and 'toSlot' fields. " +
+		"Returns the amount transferred by each move.")
+	@MarkerInterfaces(ITransferMethod.class)
+	public static Map<Integer, Integer> pushItemsBulk(IContext<IItemHandler> context, String toName, Map<?, ?> moves) throws LuaException {
+		IItemHandler from = context.getTarget();
+		IItemHandler to = getHandler(context, toName, "Target");
+		return moveItems(from, to, moves);
+	}
+
+	@PlethoraMethod(doc = "function(fromName:string, moves:table):table -- Pull items to this inventory from another " +
+		"inventory. Each move is a table with a 'fromSlot' field, and optional 'limit' and 'toSlot' fields. " +
+		"Returns the amount transferred by each move.")
+	@MarkerInterfaces(ITransferMethod.class)
+	public static Map<Integer, Integer> pullItemsBulk(IContext<IItemHandler> context, String fromName, Map<?, ?> moves) throws LuaException {
+		IItemHandler to = context.getTarget();
+		IItemHandler from = getHandler(context, fromName, "Source");
+		return moveItems(from, to, moves);
+	}
+
+	@PlethoraMethod(doc = "-- Push all items matching an item from this inventory to another inventory. Returns the amount transferred.")
+	@MarkerInterfaces(ITransferMethod.class)
+	public static int pushMatching(
+		IContext<IItemHandler> context,
+		String toName, ItemFingerprint item, @Optional(defInt = Integer.MAX_VALUE) int limit, @Optional int toSlot
+	) throws LuaException {
+		IItemHandler from = context.getTarget();
+		IItemHandler to = getHandler(context, toName, "Target");
+
+		if (limit <= 0) throw new LuaException("Limit must be > 0");
+		if (toSlot != -1) assertBetween(toSlot, 1, to.getSlots(), "To slot out of range (%s)");
+
+		return moveMatching(from, item, to, toSlot - 1, limit);
+	}
+
+	@PlethoraMethod(doc = "-- Pull all items matching an item to this inventory from another inventory. Returns the amount transferred.")
+	@MarkerInterfaces(ITransferMethod.class)
+	public static int pullMatching(
+		IContext<IItemHandler> context,
+		String fromName, ItemFingerprint item, @Optional(defInt = Integer.MAX_VALUE) int limit, @Optional int toSlot
+	) throws LuaException {
+		IItemHandler to = context.getTarget();
+		IItemHandler from = getHandler(context, fromName, "Source");
+
+		if (limit <= 0) throw new LuaException("Limit must be > 0");
+		if (toSlot != -1) assertBetween(toSlot, 1, to.getSlots(), "To slot out of range (%s)");
+
+		return moveMatching(from, item, to, toSlot - 1, limit);
+	}
+
+	@Nonnull
+	private static IItemHandler getHandler(@Nonnull IContext<?> context, @Nonnull String name, @Nonnull String kind) throws LuaException {
+		Object location = context.getTransferLocation(name);
+		if (location == null) throw new LuaException(kind + " '" + name + "' does not exist");
+
+		IItemHandler handler = extractHandler(location);
+		if (handler == null) throw new LuaException(kind + " '" + name + "' is not an inventory");
+
+		return handler;
+	}
+
 	@Nullable
 	public static IItemHandler extractHandler(@Nonnull Object object) {
 		for (Object child : PlethoraAPI.instance().converterRegistry().convertAll(object)) {
@@ -115,4 +167,72 @@ public final class MethodsInventoryTransfer {
 
 		return insertCount;
 	}
+
+	/**
+	 * Perform a series of moves between two handlers. All moves are validated before any items are transferred.
+	 *
+	 * @param from  The handler to move from
+	 * @param to    The handler to move to
+	 * @param moves A list of moves, each with a {@code fromSlot} and optional {@code limit} and {@code toSlot}.
+	 * @return The number of items moved by each move.
+	 * @throws LuaException If any move is malformed.
+	 */
+	private static Map<Integer, Integer> moveItems(IItemHandler from, IItemHandler to, Map<?, ?> moves) throws LuaException {
+		int size = moves.size();
+		int[] fromSlots = new int[size], limits = new int[size], toSlots = new int[size];
+		for (int i = 0; i < size; i++) {
+			Object move = moves.get((double) (i + 1));
+			if (!(move instanceof Map)) throw badObjectType("moves", "list of tables", move);
+			Map<?, ?> moveTable = (Map<?, ?>) move;
+
+			if (moveTable.get("fromSlot") == null) throw badObjectType("fromSlot", "number", null);
+			int fromSlot = getInt(moveTable, "fromSlot", 0);
+			int limit = getInt(moveTable, "limit", Integer.MAX_VALUE);
+			int toSlot = getInt(moveTable, "toSlot", -1);
+
+			if (limit <= 0) throw new LuaException("Limit must be > 0");
+			assertBetween(fromSlot, 1, from.getSlots(), "From slot out of range (%s)");
+			if (toSlot != -1) assertBetween(toSlot, 1, to.getSlots(), "To slot out of range (%s)");
+
+			fromSlots[i] = fromSlot - 1;
+			limits[i] = limit;
+			toSlots[i] = toSlot - 1;
+		}
+
+		int[] moved = new int[size];
+		for (int i = 0; i < size; i++) moved[i] = moveItem(from, fromSlots[i], to, toSlots[i], limits[i]);
+		return LuaArray.ofInts(moved, size);
+	}
+
+	private static int getInt(Map<?, ?> table, String key, int def) throws LuaException {
+		Object value = table.get(key);
+		if (value == null) return def;
+		if (!(value instanceof Number)) throw badObjectType(key, "number", value);
+
+		double number = ((Number) value).doubleValue();
+		if (!Double.isFinite(number)) throw badObject(key, "number", numberType(number));
+		return (int) number;
+	}
+
+	/**
+	 * Move every item matching a fingerprint from one handler to another
+	 *
+	 * @param from   The handler to move from
+	 * @param item   The item to move
+	 * @param to     The handler to move to
+	 * @param toSlot The slot to move to. Use any number < 0 to represent any slot.
+	 * @param limit  The max number to move. {@link Integer#MAX_VALUE} for no limit.
+	 * @return The actual number moved
+	 */
+	private static int moveMatching(IItemHandler from, ItemFingerprint item, IItemHandler to, int toSlot, final int limit) {
+		int moved = 0;
+		for (int slot = 0, size = from.getSlots(); slot < size && moved < limit; slot++) {
+			ItemStack stack = from.getStackInSlot(slot);
+			if (stack.isEmpty() || !item.matches(stack)) continue;
+
+			moved += moveItem(from, slot, to, toSlot, limit - moved);
+		}
+
+		return moved;
+	}
 }
@@ -0,0 +1,102 @@
+package org.squiddev.plethora.utils;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A fixed-size, read-only Lua list backed by an array.
+ *
+ * Unlike {@link org.squiddev.plethora.api.method.LuaList}, this does not build a hash map of its elements, and so is
+ * better suited to large columns of values. Entries are still allocated while iterating, but they are short-lived and
+ * are not retained by the list.
+ *
+ * @param <T> The type of values in this list.
+ */
+public final class LuaArray<T> extends AbstractMap<Integer, T> {
+	private final Object[] values;
+	private final int length;
+	private Set<Entry<Integer, T>> entries;
+
+	public LuaArray(@Nonnull Object[] values, int length) {
+		if (length < 0 || length > values.length) throw new IllegalArgumentException("length out of bounds");
+		this.values = values;
+		this.length = length;
+	}
+
+	public LuaArray(@Nonnull Object[] values) {
+		this(values, values.length);
+	}
+
+	/**
+	 * Create a Lua list from an array of integers. Small integers are cached by {@link Integer#valueOf(int)}, so this
+	 * will not allocate for most indices and relative coordinates.
+	 *
+	 * @param values The values to box.
+	 * @param length The number of values to take from the array.
+	 * @return The constructed list.
+	 */
+	public static LuaArray<Integer> ofInts(@Nonnull int[] values, int length) {
+		Object[] boxed = new Object[length];
+		for (int i = 0; i < length; i++) boxed[i] = values[i];
+		return new LuaArray<>(boxed);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(Object key) {
+		if (!(key instanceof Integer)) return null;
+		int index = (Integer) key;
+		return index >= 1 && index <= length ? (T) values[index - 1] : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Nonnull
+	@Override
+	public Set<Entry<Integer, T>> entrySet() {
+		Set<Entry<Integer, T>> entries = this.entries;
+		if (entries == null) this.entries = entries = new EntrySet();
+		return entries;
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<Integer, T>> {
+		@Nonnull
+		@Override
+		public Iterator<Entry<Integer, T>> iterator() {
+			return new Iterator<Entry<Integer, T>>() {
+				private int index = advance(0);
+
+				private int advance(int index) {
+					while (index < length && values[index] == null) index++;
+					return index;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return index < length;
+				}
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public Entry<Integer, T> next() {
+					if (index >= length) throw new NoSuchElementException();
+					Entry<Integer, T> entry = new SimpleImmutableEntry<>(index + 1, (T) values[index]);
+					index = advance(index + 1);
+					return entry;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			int size = 0;
+			for (int i = 0; i < length; i++) {
+				if (values[i] != null) size++;
+			}
+			return size;
+		}
+	}
+}
@@ -27,53 +27,325 @@ package org.squiddev.plethora.utils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+/**
+ * A Lua pattern, compiled for repeated matching.
+ *
+ * Compiling a pattern validates it, finds where each character class ends and builds a lookup table for the first
+ * 256 characters of each class. We also extract the pattern's literal prefix, which allows us to skip to the positions
+ * where a match could start, or reject strings outright.
+ */
 public final class LuaPattern {
-	private LuaPattern() {
+	private final String pattern;
+	private final boolean anchor;
+	private final int start;
+	private final String prefix;
+
+	/**
+	 * The end of the character class starting at each position, or {@code 0} if one does not start there.
+	 */
+	private final int[] classEnds;
+
+	/**
+	 * Which of the first 256 characters match the class starting at each position.
+	 */
+	private final long[][] classSets;
+
+	private LuaPattern(@Nonnull String pattern) {
+		this.pattern = pattern;
+		anchor = !pattern.isEmpty() && pattern.charAt(0) == '^';
+		start = anchor ? 1 : 0;
+		classEnds = new int[pattern.length()];
+		classSets = new long[pattern.length()][];
+
+		try {
+			compileClasses();
+		} catch (StringIndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("malformed pattern");
+		}
+
+		prefix = findPrefix();
+	}
+
+	/**
+	 * Compile a Lua pattern.
+	 *
+	 * @param pattern The pattern to compile.
+	 * @return The compiled pattern.
+	 * @throws IllegalArgumentException If this pattern is malformed.
+	 */
+	@Nonnull
+	public static LuaPattern compile(@Nonnull String pattern) {
+		return new LuaPattern(pattern);
 	}
 
 	@Nullable
 	public static String[] match(@Nonnull String string, @Nonnull String pattern) {
-		if (pattern.isEmpty()) return new String[0];
+		return compile(pattern).match(string);
+	}
 
-		MatchState ms = new MatchState(string, pattern);
+	public static boolean matches(@Nonnull String string, @Nonnull String pattern) {
+		return compile(pattern).matches(string);
+	}
 
-		boolean anchor = false;
-		int patternOffset = 0;
-		if (pattern.charAt(0) == '^') {
-			anchor = true;
-			patternOffset = 1;
-		}
+	/**
+	 * Get the source of this pattern.
+	 *
+	 * @return This pattern's source.
+	 */
+	@Nonnull
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Determine whether this pattern is anchored to the start of the string.
+	 *
+	 * @return Whether this pattern starts with {@code ^}.
+	 */
+	public boolean isAnchored() {
+		return anchor;
+	}
 
+	/**
+	 * Get the literal text which every match must start with.
+	 *
+	 * @return This pattern's literal prefix. This may be empty.
+	 */
+	@Nonnull
+	public String getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * Find the first match of this pattern.
+	 *
+	 * @param string The string to search in.
+	 * @return The pattern's captures (or the whole match if there are none), or {@code null} if there is no match.
+	 */
+	@Nullable
+	public String[] match(@Nonnull String string) {
+		if (pattern.isEmpty()) return new String[0];
+
+		MatchState ms = new MatchState(string, this);
 		int stringOffset = 0;
-		do {
+		while ((stringOffset = nextStart(string, stringOffset)) != -1) {
 			ms.reset();
 			int res;
-			if ((res = ms.match(stringOffset, patternOffset)) != -1) {
+			if ((res = ms.match(stringOffset, start)) != -1) {
 				return ms.getCaptures(stringOffset, res);
 			}
-		} while (stringOffset++ < string.length() && !anchor);
+
+			if (anchor || stringOffset++ >= string.length()) break;
+		}
+
 		return null;
 	}
 
-	public static boolean matches(@Nonnull String string, @Nonnull String pattern) {
+	/**
+	 * Determine whether this pattern matches anywhere in the string.
+	 *
+	 * @param string The string to search in.
+	 * @return Whether there is a match.
+	 */
+	public boolean matches(@Nonnull String string) {
 		if (pattern.isEmpty()) return true;
 
-		MatchState ms = new MatchState(string, pattern);
+		MatchState ms = new MatchState(string, this);
+		int stringOffset = 0;
+		while ((stringOffset = nextStart(string, stringOffset)) != -1) {
+			ms.reset();
+			if (ms.match(stringOffset, start) != -1) return true;
 
-		boolean anchor = false;
-		int patternOffset = 0;
-		if (pattern.charAt(0) == '^') {
-			anchor = true;
-			patternOffset = 1;
+			if (anchor || stringOffset++ >= string.length()) break;
 		}
 
-		int stringOffset = 0;
-		do {
-			ms.reset();
-			if (ms.match(stringOffset, patternOffset) != -1) return true;
-		} while (stringOffset++ < string.length() && !anchor);
 		return false;
 	}
+
+	/**
+	 * Find the next position a match could start at, using the literal prefix.
+	 *
+	 * @param string The string we are matching.
+	 * @param offset The first position to consider.
+	 * @return The next possible start, or {@code -1} if there is none.
+	 */
+	private int nextStart(@Nonnull String string, int offset) {
+		if (prefix.isEmpty()) return offset;
+		if (anchor) return string.startsWith(prefix) ? 0 : -1;
+		return string.indexOf(prefix, offset);
+	}
+
+	/**
+	 * Walk over the pattern, in the same way as {@link MatchState#match(int, int)}, recording each character class.
+	 */
+	private void compileClasses() {
+		int length = pattern.length();
+		int offset = start;
+		while (offset < length) {
+			switch (pattern.charAt(offset)) {
+				case '(':
+					offset++;
+					if (offset < length && pattern.charAt(offset) == ')') offset++;
+					continue;
+				case ')':
+					offset++;
+					continue;
+				case L_ESC: {
+					if (offset + 1 == length) throw new IllegalArgumentException("malformed pattern (ends with '%')");
+
+					char next = pattern.charAt(offset + 1);
+					if (next == 'b') {
+						if (offset + 3 >= length) throw new IllegalArgumentException("unbalanced pattern");
+						offset += 4;
+						continue;
+					} else if (next == 'f') {
+						offset += 2;
+						if (offset == length || pattern.charAt(offset) != '[') {
+							throw new IllegalArgumentException("Missing [ after %f in pattern");
+						}
+						offset = compileClass(offset);
+						continue;
+					} else if (Character.isDigit(next)) {
+						offset += 2;
+						continue;
+					}
+					break;
+				}
+				case '$':
+					if (offset + 1 == length) {
+						offset++;
+						continue;
+					}
+					break;
+			}
+
+			offset = compileClass(offset);
+			if (offset < length) {
+				switch (pattern.charAt(offset)) {
+					case '?':
+					case '*':
+					case '+':
+					case '-':
+						offset++;
+						break;
+				}
+			}
+		}
+	}
+
+	private int compileClass(int offset) {
+		int end = classEnds[offset] = computeClassEnd(offset);
+
+		long[] set = new long[4];
+		for (int c = 0; c < 256; c++) {
+			if (singleMatchUncached(c, offset, end)) set[c >>> 6] |= 1L << c;
+		}
+		classSets[offset] = set;
+
+		return end;
+	}
+
+	@Nonnull
+	private String findPrefix() {
+		StringBuilder builder = new StringBuilder();
+		int length = pattern.length();
+		for (int offset = start; offset < length; offset++) {
+			char c = pattern.charAt(offset);
+			if (SPECIALS.indexOf(c) >= 0 || c == ')') break;
+
+			char next = offset + 1 < length ? pattern.charAt(offset + 1) : '\0';
+			if (next == '?' || next == '*' || next == '-') break;
+
+			builder.append(c);
+			if (next == '+') break;
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Find the end point of this capture class (escape character, square brackets or normal).
+	 *
+	 * @param patternOffset The offset into the pattern
+	 * @return The last position of this class
+	 */
+	private int classEnd(int patternOffset) {
+		int end = patternOffset < classEnds.length ? classEnds[patternOffset] : 0;
+		return end != 0 ? end : computeClassEnd(patternOffset);
+	}
+
+	private int computeClassEnd(int patternOffset) {
+		switch (pattern.charAt(patternOffset++)) {
+			case L_ESC:
+				if (patternOffset == pattern.length()) {
+					throw new IllegalArgumentException("malformed pattern (ends with %)");
+				}
+				return patternOffset + 1;
+
+			case '[':
+				if (pattern.charAt(patternOffset) == '^') patternOffset++;
+				do {
+					if (patternOffset == pattern.length()) {
+						throw new IllegalArgumentException("malformed pattern (missing ])");
+					}
+					if (pattern.charAt(patternOffset++) == L_ESC && patternOffset != pattern.length()) {
+						patternOffset++;
+					}
+				} while (pattern.charAt(patternOffset) != ']');
+				return patternOffset + 1;
+			default:
+				return patternOffset;
+		}
+	}
+
+	/**
+	 * Match a set of square backets
+	 *
+	 * @param character    The character to match
+	 * @param patternStart The position to start with, inclusive
+	 * @param patternEnd   The position to end at, exclusive
+	 * @return If the match was successful
+	 */
+	private boolean matchBracketClass(int character, int patternStart, int patternEnd) {
+		boolean sig = true;
+		if (pattern.charAt(patternStart + 1) == '^') {
+			sig = false;
+			patternStart++;
+		}
+		while (++patternStart < patternEnd) {
+			if (pattern.charAt(patternStart) == L_ESC) {
+				patternStart++;
+				if (matchClass(character, pattern.charAt(patternStart))) {
+					return sig;
+				}
+			} else if ((pattern.charAt(patternStart + 1) == '-') && (patternStart + 2 < patternEnd)) {
+				patternStart += 2;
+				if (pattern.charAt(patternStart - 2) <= character && character <= pattern.charAt(patternStart)) {
+					return sig;
+				}
+			} else if (pattern.charAt(patternStart) == character) return sig;
+		}
+		return !sig;
+	}
+
+	private boolean singleMatch(int c, int poff, int ep) {
+		long[] set = c < 256 ? classSets[poff] : null;
+		return set != null ? (set[c >>> 6] & (1L << c)) != 0 : singleMatchUncached(c, poff, ep);
+	}
+
+	private boolean singleMatchUncached(int c, int poff, int ep) {
+		switch (pattern.charAt(poff)) {
+			case '.':
+				return true;
+			case L_ESC:
+				return matchClass(c, pattern.charAt(poff + 1));
+			case '[':
+				return matchBracketClass(c, poff, ep - 1);
+			default:
+				return pattern.charAt(poff) == c;
+		}
+	}
+
 	// Pattern matching implementation
 
 	private static final int L_ESC = '%';
@@ -166,14 +438,16 @@ public final class LuaPattern {
 
 	private static final class MatchState {
 		private final String string;
+		private final LuaPattern compiled;
 		private final String pattern;
 		private int level;
 		private final int[] captureInit = new int[MAX_CAPTURES];
 		private final int[] captureLength = new int[MAX_CAPTURES];
 
-		MatchState(String string, String pattern) {
+		MatchState(String string, LuaPattern compiled) {
 			this.string = string;
-			this.pattern = pattern;
+			this.compiled = compiled;
+			pattern = compiled.pattern;
 			level = 0;
 		}
 
@@ -239,79 +513,6 @@ public final class LuaPattern {
 			throw new IllegalArgumentException("invalid pattern capture");
 		}
 
-		/**
-		 * Find the end point of this capture class (escape character, square brackets or normal).
-		 *
-		 * @param patternOffset The offset into the pattern
-		 * @return The last position of this class
-		 */
-		private int classEnd(int patternOffset) {
-			switch (pattern.charAt(patternOffset++)) {
-				case L_ESC:
-					if (patternOffset == pattern.length()) {
-						throw new IllegalArgumentException("malformed pattern (ends with %)");
-					}
-					return patternOffset + 1;
-
-				case '[':
-					if (pattern.charAt(patternOffset) == '^') patternOffset++;
-					do {
-						if (patternOffset == pattern.length()) {
-							throw new IllegalArgumentException("malformed pattern (missing ])");
-						}
-						if (pattern.charAt(patternOffset++) == L_ESC && patternOffset != pattern.length()) {
-							patternOffset++;
-						}
-					} while (pattern.charAt(patternOffset) != ']');
-					return patternOffset + 1;
-				default:
-					return patternOffset;
-			}
-		}
-
-		/**
-		 * Match a set of square backets
-		 *
-		 * @param character    The character to match
-		 * @param patternStart The position to start with, inclusive
-		 * @param patternEnd   The position to end at, exclusive
-		 * @return If the match was successful
-		 */
-		private boolean matchBracketClass(int character, int patternStart, int patternEnd) {
-			boolean sig = true;
-			if (pattern.charAt(patternStart + 1) == '^') {
-				sig = false;
-				patternStart++;
-			}
-			while (++patternStart < patternEnd) {
-				if (pattern.charAt(patternStart) == L_ESC) {
-					patternStart++;
-					if (matchClass(character, pattern.charAt(patternStart))) {
-						return sig;
-					}
-				} else if ((pattern.charAt(patternStart + 1) == '-') && (patternStart + 2 < patternEnd)) {
-					patternStart += 2;
-					if (pattern.charAt(patternStart - 2) <= character && character <= pattern.charAt(patternStart)) {
-						return sig;
-					}
-				} else if (pattern.charAt(patternStart) == character) return sig;
-			}
-			return !sig;
-		}
-
-		private boolean singleMatch(int c, int poff, int ep) {
-			switch (pattern.charAt(poff)) {
-				case '.':
-					return true;
-				case L_ESC:
-					return matchClass(c, pattern.charAt(poff + 1));
-				case '[':
-					return matchBracketClass(c, poff, ep - 1);
-				default:
-					return pattern.charAt(poff) == c;
-			}
-		}
-
 		/**
 		 * Perform pattern matching. If there is a match, returns offset into string
 		 * where match ends, otherwise returns -1.
@@ -353,9 +554,9 @@ public final class LuaPattern {
 								if (pattern.charAt(patternOffset) != '[') {
 									throw new IllegalArgumentException("Missing [ after %f in pattern");
 								}
-								int ep = classEnd(patternOffset);
+								int ep = compiled.classEnd(patternOffset);
 								int previous = (stringOffset == 0) ? 0 : string.charAt(stringOffset - 1);
-								if (matchBracketClass(previous, patternOffset, ep - 1) || (stringOffset < string.length() && !matchBracketClass(string.charAt(stringOffset), patternOffset, ep - 1))) {
+								if (compiled.singleMatch(previous, patternOffset, ep) || (stringOffset < string.length() && !compiled.singleMatch(string.charAt(stringOffset), patternOffset, ep))) {
 									return -1;
 								}
 								patternOffset = ep;
@@ -380,8 +581,8 @@ public final class LuaPattern {
 				}
 
 				// Handle normal things
-				int patternEnd = classEnd(patternOffset);
-				boolean m = stringOffset < string.length() && singleMatch(string.charAt(stringOffset), patternOffset, patternEnd);
+				int patternEnd = compiled.classEnd(patternOffset);
+				boolean m = stringOffset < string.length() && compiled.singleMatch(string.charAt(stringOffset), patternOffset, patternEnd);
 				int patChar = (patternEnd < pattern.length()) ? pattern.charAt(patternEnd) : '\0';
 
 				switch (patChar) {
@@ -411,7 +612,7 @@ public final class LuaPattern {
 		private int maxExpand(int stringOffset, int patternOffset, int ep) {
 			int i = 0;
 			while (stringOffset + i < string.length() &&
-				singleMatch(string.charAt(stringOffset + i), patternOffset, ep)) {
+				compiled.singleMatch(string.charAt(stringOffset + i), patternOffset, ep)) {
 				i++;
 			}
 			while (i >= 0) {
@@ -429,7 +630,7 @@ public final class LuaPattern {
 				int res = match(stringOffset, ep + 1);
 				if (res != -1) {
 					return res;
-				} else if (stringOffset < string.length() && singleMatch(string.charAt(stringOffset), patternOffset, ep)) {
+				} else if (stringOffset < string.length() && compiled.singleMatch(string.charAt(stringOffset), patternOffset, ep)) {
 					stringOffset++;
 				} else {
 					return -1;
@@ -0,0 +1,103 @@
+package org.squiddev.plethora.utils;
+
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of {@link LuaPattern}s, which can find the first pattern matching a string.
+ *
+ * Anchored patterns with a literal prefix are indexed by their first character, so we only need to try those which
+ * could possibly match. All other patterns are tried in the order they were added, using their own prefix to skip to
+ * candidate positions.
+ *
+ * This class is not thread safe.
+ */
+public final class LuaPatternSet {
+	private final Map<String, LuaPattern> patterns = new LinkedHashMap<>();
+
+	private final Char2ObjectMap<List<LuaPattern>> anchored = new Char2ObjectOpenHashMap<>();
+	private final List<LuaPattern> unanchored = new ArrayList<>();
+
+	/**
+	 * Add a pattern to this set.
+	 *
+	 * @param pattern The pattern to add.
+	 * @return If this pattern was not already present.
+	 * @throws IllegalArgumentException If the pattern is malformed.
+	 */
+	public boolean add(@Nonnull String pattern) {
+		if (patterns.containsKey(pattern)) return false;
+
+		LuaPattern compiled = LuaPattern.compile(pattern);
+		patterns.put(pattern, compiled);
+		getBucket(compiled).add(compiled);
+		return true;
+	}
+
+	/**
+	 * Remove a pattern from this set.
+	 *
+	 * @param pattern The pattern to remove.
+	 * @return If this pattern was present.
+	 */
+	public boolean remove(@Nonnull String pattern) {
+		LuaPattern compiled = patterns.remove(pattern);
+		if (compiled == null) return false;
+
+		List<LuaPattern> bucket = getBucket(compiled);
+		bucket.remove(compiled);
+		if (bucket.isEmpty() && bucket != unanchored) anchored.remove(compiled.getPrefix().charAt(0));
+		return true;
+	}
+
+	public void clear() {
+		patterns.clear();
+		anchored.clear();
+		unanchored.clear();
+	}
+
+	public boolean isEmpty() {
+		return patterns.isEmpty();
+	}
+
+	/**
+	 * Find a pattern which matches this string.
+	 *
+	 * @param string The string to match against.
+	 * @return The first matching pattern, or {@code null} if none match.
+	 */
+	@Nullable
+	public LuaPattern find(@Nonnull String string) {
+		if (!anchored.isEmpty() && !string.isEmpty()) {
+			List<LuaPattern> bucket = anchored.get(string.charAt(0));
+			if (bucket != null) {
+				for (LuaPattern pattern : bucket) {
+					if (pattern.matches(string)) return pattern;
+				}
+			}
+		}
+
+		for (LuaPattern pattern : unanchored) {
+			if (pattern.matches(string)) return pattern;
+		}
+
+		return null;
+	}
+
+	@Nonnull
+	private List<LuaPattern> getBucket(@Nonnull LuaPattern pattern) {
+		if (!pattern.isAnchored() || pattern.getPrefix().isEmpty()) return unanchored;
+
+		char first = pattern.getPrefix().charAt(0);
+		List<LuaPattern> bucket = anchored.get(first);
+		if (bucket == null) anchored.put(first, bucket = new ArrayList<>(1));
+		return bucket;
+	}
+}
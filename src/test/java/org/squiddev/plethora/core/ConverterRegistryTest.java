@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ConverterRegistryTest {
 	private ConverterRegistry registry;
@@ -72,6 +73,22 @@ public class ConverterRegistryTest {
 			.tryConvert(new Object[]{null, null, new Value(false, 0)}));
 	}
 
+	@Test
+	public void testRegisterInvalidatesCache() {
+		List<String> keys = Lists.newArrayList("test");
+		List<Object> values = Lists.newArrayList(new Value(true, 0));
+		registry.extendConverted(keys, values, 0);
+		assertEquals(2, values.size());
+
+		registry.registerConverter(Value.class, (ConstantConverter<Value, String>) from -> from.active ? "active" : null);
+
+		keys = Lists.newArrayList("test");
+		values = Lists.newArrayList(new Value(true, 0));
+		registry.extendConverted(keys, values, 0);
+		assertEquals(3, values.size());
+		assertTrue(values.contains("active"));
+	}
+
 	public static class Value {
 		public final boolean active;
 		public final int value;
@@ -0,0 +1,56 @@
+package org.squiddev.plethora.core.capabilities;
+
+import dan200.computercraft.api.lua.LuaException;
+import org.junit.Test;
+import org.squiddev.plethora.api.method.MethodResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultCostHandlerTest {
+	@Test
+	public void testRegenIsLazy() {
+		DefaultCostHandler handler = new DefaultCostHandler(10, 2, 10, false, true);
+		assertTrue(handler.consume(10));
+		assertEquals(0, handler.get(), 0);
+
+		DefaultCostHandler.tick();
+		DefaultCostHandler.tick();
+		assertEquals(4, handler.get(), 0);
+
+		for (int i = 0; i < 10; i++) DefaultCostHandler.tick();
+		assertEquals(10, handler.get(), 0);
+	}
+
+	@Test
+	public void testConsumeInsufficient() {
+		DefaultCostHandler handler = new DefaultCostHandler(5, 1, 10, false, true);
+		assertFalse(handler.consume(6));
+		assertTrue(handler.consume(5));
+		assertFalse(handler.consume(1));
+	}
+
+	@Test
+	public void testAwaitResolvesWhenDue() throws LuaException {
+		DefaultCostHandler handler = new DefaultCostHandler(0, 2, 10, false, true);
+		MethodResult result = handler.await(5, MethodResult.empty());
+		assertFalse(result.isFinal());
+
+		MethodResult.Resolver resolver = result.getResolver();
+		assertFalse(resolver.update());
+
+		DefaultCostHandler.tick();
+		DefaultCostHandler.tick();
+		assertFalse(resolver.update());
+
+		DefaultCostHandler.tick();
+		assertTrue(resolver.update());
+		assertEquals(1, handler.get(), 0);
+	}
+
+	@Test(expected = LuaException.class)
+	public void testAwaitAboveLimit() throws LuaException {
+		new DefaultCostHandler(0, 2, 10, false, true).await(20, MethodResult.empty());
+	}
+}
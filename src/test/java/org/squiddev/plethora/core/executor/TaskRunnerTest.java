@@ -0,0 +1,193 @@
+package org.squiddev.plethora.core.executor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.squiddev.plethora.api.method.MethodResult;
+import org.squiddev.plethora.core.ConfigCore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TaskRunnerTest {
+	private final List<String> order = new ArrayList<>();
+
+	@Before
+	public void setup() {
+		ConfigCore.Executor.tickBudget = Integer.MAX_VALUE / 1000;
+		order.clear();
+	}
+
+	@Test
+	public void testRoundRobin() {
+		TaskRunner runner = new TaskRunner();
+		assertTrue(runner.submit(new OwnedTask("a", "a1")));
+		assertTrue(runner.submit(new OwnedTask("a", "a2")));
+		assertTrue(runner.submit(new OwnedTask("a", "a3")));
+		assertTrue(runner.submit(new OwnedTask("b", "b1")));
+		assertTrue(runner.submit(new OwnedTask("c", "c1")));
+
+		assertEquals(3, runner.getQueueDepth("a"));
+		assertEquals(5, runner.getQueueDepth());
+
+		runner.update();
+
+		assertEquals(Arrays.asList("a1", "b1", "c1", "a2", "a3"), order);
+		assertEquals(0, runner.getQueueDepth());
+	}
+
+	@Test
+	public void testCarriesOverPosition() {
+		// With no budget, we only run a single task per tick.
+		ConfigCore.Executor.tickBudget = 0;
+
+		TaskRunner runner = new TaskRunner();
+		runner.submit(new OwnedTask("a", "a1"));
+		runner.submit(new OwnedTask("a", "a2"));
+		runner.submit(new OwnedTask("b", "b1"));
+
+		runner.update();
+		assertEquals(Collections.singletonList("a1"), order);
+
+		runner.update();
+		assertEquals(Arrays.asList("a1", "b1"), order);
+
+		runner.update();
+		assertEquals(Arrays.asList("a1", "b1", "a2"), order);
+	}
+
+	@Test
+	public void testPendingTasksRequeued() {
+		TaskRunner runner = new TaskRunner();
+		runner.submit(new OwnedTask("a", "a1", MethodResult.delayed(1, () -> {
+		}).getResolver()));
+		runner.submit(new OwnedTask("b", "b1"));
+
+		runner.update();
+		assertEquals(Collections.singletonList("b1"), order);
+		assertEquals(1, runner.getQueueDepth("a"));
+
+		runner.update();
+		assertEquals(Arrays.asList("b1", "a1"), order);
+		assertEquals(0, runner.getQueueDepth());
+	}
+
+	@Test
+	public void testSleepingTasks() {
+		TaskRunner runner = new TaskRunner();
+		int[] updates = new int[1];
+		MethodResult.Resolver delayed = MethodResult.delayed(5, () -> {
+		}).getResolver();
+		runner.submit(new OwnedTask("a", "a1", new MethodResult.Resolver() {
+			@Override
+			public boolean update() {
+				updates[0]++;
+				return delayed.update();
+			}
+
+			@Override
+			public int getSleep() {
+				return delayed.getSleep();
+			}
+		}));
+
+		for (int i = 0; i < 5; i++) {
+			runner.update();
+			assertEquals(Collections.emptyList(), order);
+			assertEquals(1, runner.getQueueDepth("a"));
+		}
+
+		runner.update();
+		assertEquals(Collections.singletonList("a1"), order);
+		assertEquals(2, updates[0]);
+		assertEquals(0, runner.getQueueDepth());
+	}
+
+	@Test
+	public void testLongSleep() {
+		TaskRunner runner = new TaskRunner();
+		int[] updates = new int[1];
+		runner.submit(new OwnedTask("a", "a1", new MethodResult.Resolver() {
+			@Override
+			public boolean update() {
+				return updates[0]++ > 0;
+			}
+
+			@Override
+			public int getSleep() {
+				return TaskRunner.MAX_SLEEP * 3;
+			}
+		}));
+
+		// The task is checked on several times, but must not be polled until the full sleep has elapsed.
+		for (int i = 0; i <= TaskRunner.MAX_SLEEP * 3; i++) {
+			runner.update();
+			assertEquals(1, updates[0]);
+		}
+
+		runner.update();
+		assertEquals(Collections.singletonList("a1"), order);
+		assertEquals(0, runner.getQueueDepth());
+	}
+
+	@Test
+	public void testCancelWhileSleeping() {
+		TaskRunner runner = new TaskRunner();
+		OwnedTask task = new OwnedTask("a", "a1", new MethodResult.Resolver() {
+			@Override
+			public boolean update() {
+				return false;
+			}
+
+			@Override
+			public int getSleep() {
+				return Integer.MAX_VALUE;
+			}
+		});
+		runner.submit(task);
+
+		runner.update();
+		assertEquals(1, runner.getQueueDepth("a"));
+		assertEquals(1, runner.getQueueDepth());
+
+		// Simulate the computer detaching while the task is asleep.
+		task.cancelled = true;
+		runner.update();
+
+		assertTrue(task.isDone());
+		assertEquals(0, runner.getQueueDepth("a"));
+		assertEquals(0, runner.getQueueDepth());
+		assertEquals(Collections.emptyList(), order);
+	}
+
+	private class OwnedTask extends Task {
+		private final Object owner;
+		boolean cancelled;
+
+		OwnedTask(Object owner, String name) {
+			this(owner, name, () -> true);
+		}
+
+		OwnedTask(Object owner, String name, MethodResult.Resolver resolver) {
+			super(() -> {
+				order.add(name);
+				return MethodResult.empty();
+			}, resolver);
+			this.owner = owner;
+		}
+
+		@Override
+		Object getOwner() {
+			return owner;
+		}
+
+		@Override
+		boolean isCancelled() {
+			return cancelled || super.isCancelled();
+		}
+	}
+}
@@ -10,6 +10,9 @@ import org.hamcrest.CoreMatchers;
 import org.junit.Before;
 import org.junit.Test;
 import org.squiddev.plethora.api.method.TypedLuaObject;
+import org.squiddev.plethora.api.method.wrapper.FromTarget;
+import org.squiddev.plethora.api.method.wrapper.Optional;
+import org.squiddev.plethora.api.method.wrapper.PlethoraMethod;
 import org.squiddev.plethora.core.ConfigCore;
 import org.squiddev.plethora.core.ContextFactory;
 import org.squiddev.plethora.core.executor.BasicExecutor;
@@ -31,6 +34,7 @@ public class PlethoraMethodRegistryTest {
 	public void before() {
 		ConfigCore.Testing.bytecodeVerify = true;
 		ConfigCore.Testing.strict = true;
+		ConfigCore.Testing.methodHandles = false;
 		ConfigCore.configuration = new Configuration();
 		ConfigCore.baseCosts = ConfigCore.configuration.getCategory("baseCosts");
 	}
@@ -71,6 +75,63 @@ public class PlethoraMethodRegistryTest {
 		assertArrayEquals(new Object[]{result}, object.callMethod(new BasicObject(), methods.indexOf("getSignText"), new Object[0]));
 	}
 
+	@Test
+	public void testAddNoSyncHandles() throws NoSuchMethodException, LuaException, InterruptedException {
+		ConfigCore.Testing.methodHandles = true;
+
+		Method method = MethodsVanillaTileEntities.class.getMethod("getCookTime", TileEntityFurnace.class);
+		assertTrue(PlethoraMethodRegistry.add(method));
+
+		TileEntityFurnace furnace = new TileEntityFurnace();
+		TypedLuaObject<TileEntityFurnace> object = ContextFactory
+			.of(furnace, id(furnace))
+			.withExecutor(BasicExecutor.INSTANCE)
+			.getObject();
+
+		List<String> methods = Arrays.asList(object.getMethodNames());
+		assertThat(methods, CoreMatchers.hasItem("getCookTime"));
+
+		assertArrayEquals(new Object[]{0}, object.callMethod(new BasicObject(), methods.indexOf("getCookTime"), new Object[0]));
+	}
+
+	@Test
+	public void testAddSyncHandles() throws NoSuchMethodException, LuaException, InterruptedException {
+		ConfigCore.Testing.methodHandles = true;
+
+		Method method = HandleMethods.class.getMethod("describeSign", TileEntitySign.class, int.class, boolean.class);
+		assertTrue(PlethoraMethodRegistry.add(method));
+
+		TileEntitySign sign = new TileEntitySign();
+		TypedLuaObject<TileEntitySign> object = ContextFactory
+			.of(sign, id(sign))
+			.withExecutor(BasicExecutor.INSTANCE)
+			.getObject();
+
+		List<String> methods = Arrays.asList(object.getMethodNames());
+		assertThat(methods, CoreMatchers.hasItem("describeSign"));
+
+		int index = methods.indexOf("describeSign");
+		assertArrayEquals(new Object[]{"", 2, true}, object.callMethod(new BasicObject(), index, new Object[]{2.0}));
+		assertArrayEquals(new Object[]{"", 3, false}, object.callMethod(new BasicObject(), index, new Object[]{3.0, false}));
+
+		try {
+			object.callMethod(new BasicObject(), index, new Object[]{"foo"});
+			fail("Expected an error");
+		} catch (LuaException e) {
+			assertThat(e.getMessage(), CoreMatchers.containsString("number expected"));
+		}
+	}
+
+	public static final class HandleMethods {
+		private HandleMethods() {
+		}
+
+		@PlethoraMethod(doc = "function(line:int, [flag:boolean]):string, int, boolean -- Get a line of this sign")
+		public static Object[] describeSign(@FromTarget TileEntitySign sign, int line, @Optional(defBool = true) boolean flag) {
+			return new Object[]{sign.signText[line - 1].getUnformattedText(), line, flag};
+		}
+	}
+
 	private static class BasicObject implements ILuaContext {
 
 		@Nonnull
@@ -0,0 +1,89 @@
+package org.squiddev.plethora.gameplay.modules.glasses;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import org.junit.Test;
+import org.squiddev.plethora.gameplay.modules.glasses.objects.object2d.Polygon;
+import org.squiddev.plethora.utils.Vec2d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.squiddev.plethora.gameplay.modules.glasses.CanvasHandler.ID_2D;
+
+public class CanvasServerTest {
+	@Test
+	public void testDeferredVertices() {
+		CanvasServer canvas = new CanvasServer(null, null);
+		Polygon first = polygon(canvas), second = polygon(canvas);
+		canvas.getAddMessage();
+
+		// Mirror the server's objects, as the client would see them.
+		Int2ObjectMap<Polygon> client = new Int2ObjectOpenHashMap<>();
+		client.put(first.id(), copy(first));
+		client.put(second.id(), copy(second));
+
+		first.setVertex(0, new Vec2d(5, 5));
+		second.setVertex(1, new Vec2d(7, 7));
+
+		// A budget this small means only one object can be sent at once, so the second polygon is deferred.
+		MessageCanvasUpdate update = canvas.getUpdateMessage(1);
+		assertNotNull(update);
+		assertEquals(1, apply(update, client));
+		assertTrue(first.isDirty() || second.isDirty());
+
+		update = canvas.getUpdateMessage(1);
+		assertNotNull(update);
+		assertEquals(1, apply(update, client));
+		assertFalse(first.isDirty() || second.isDirty());
+
+		for (Polygon polygon : new Polygon[]{first, second}) {
+			Polygon mirror = client.get(polygon.id());
+			for (int i = 0; i < polygon.getVertices(); i++) assertEquals(polygon.getPoint(i), mirror.getPoint(i));
+		}
+	}
+
+	private static Polygon polygon(CanvasServer canvas) {
+		Polygon polygon = new Polygon(canvas.newObjectId(), ID_2D);
+		polygon.addPoint(0, new Vec2d(0, 0));
+		polygon.addPoint(1, new Vec2d(1, 0));
+		polygon.addPoint(2, new Vec2d(0, 1));
+		canvas.add(polygon);
+		return polygon;
+	}
+
+	private static Polygon copy(Polygon polygon) {
+		ByteBuf buffer = Unpooled.buffer();
+		polygon.writeInitial(buffer);
+
+		Polygon copy = new Polygon(polygon.id(), polygon.parent());
+		copy.readInitial(buffer);
+		return copy;
+	}
+
+	/**
+	 * Apply the changes within an update message to the client's objects.
+	 *
+	 * @return The number of objects which were changed.
+	 */
+	private static int apply(MessageCanvasUpdate update, Int2ObjectMap<Polygon> client) {
+		ByteBuf buffer = Unpooled.buffer();
+		update.toBytes(buffer);
+
+		buffer.readInt();
+		int count = buffer.readInt();
+		for (int i = 0; i < count; i++) {
+			assertFalse("Expected a changed object", buffer.readBoolean());
+			int id = ByteBufUtils.readVarInt(buffer, 5);
+			int fields = ByteBufUtils.readVarInt(buffer, 5);
+			ByteBuf data = buffer.readBytes(ByteBufUtils.readVarInt(buffer, 5));
+			client.get(id).readFields(data, fields);
+		}
+
+		return count;
+	}
+}
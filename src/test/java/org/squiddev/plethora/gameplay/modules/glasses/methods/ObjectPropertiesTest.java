@@ -0,0 +1,67 @@
+package org.squiddev.plethora.gameplay.modules.glasses.methods;
+
+import dan200.computercraft.api.lua.LuaException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ObjectPropertiesTest {
+	@Test
+	public void testRequiresPoints() {
+		for (String type : new String[]{"line", "triangle"}) {
+			assertMissingPoints(() -> ObjectProperties.create2D(0, spec(type)));
+		}
+
+		assertMissingPoints(() -> ObjectProperties.create3D(0, spec("line")));
+	}
+
+	@Test
+	public void testResizableWithoutPoints() throws LuaException {
+		ObjectProperties.create2D(0, spec("polygon")).build(1);
+		ObjectProperties.create2D(0, spec("lines")).build(1);
+	}
+
+	@Test
+	public void testPoints() throws LuaException {
+		Map<Object, Object> spec = spec("line");
+		spec.put("points", list(point(0, 0), point(1, 1)));
+		ObjectProperties.create2D(0, spec).build(1);
+	}
+
+	private static Map<Object, Object> spec(String type) {
+		Map<Object, Object> spec = new HashMap<>();
+		spec.put("type", type);
+		return spec;
+	}
+
+	private static Map<Object, Object> point(double x, double y) {
+		Map<Object, Object> point = new HashMap<>();
+		point.put("x", x);
+		point.put("y", y);
+		return point;
+	}
+
+	private static Map<Object, Object> list(Object... values) {
+		Map<Object, Object> list = new HashMap<>();
+		for (int i = 0; i < values.length; i++) list.put((double) (i + 1), values[i]);
+		return list;
+	}
+
+	private static void assertMissingPoints(Creator creator) {
+		try {
+			creator.create();
+			fail("Expected an error");
+		} catch (LuaException e) {
+			assertEquals("bad key 'points' (table expected, got nil)", e.getMessage());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Creator {
+		void create() throws LuaException;
+	}
+}
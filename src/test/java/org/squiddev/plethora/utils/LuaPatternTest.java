@@ -0,0 +1,68 @@
+package org.squiddev.plethora.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LuaPatternTest {
+	@Test
+	public void matches() {
+		assertTrue(LuaPattern.matches("hello world", "world"));
+		assertTrue(LuaPattern.matches("hello world", "^hello"));
+		assertFalse(LuaPattern.matches("hello world", "^world"));
+		assertTrue(LuaPattern.matches("hello world", "o w"));
+		assertTrue(LuaPattern.matches("hello world", "d$"));
+		assertTrue(LuaPattern.matches("abc123", "%a+%d+"));
+		assertFalse(LuaPattern.matches("abc", "%d"));
+		assertTrue(LuaPattern.matches("abc", "[^%d]"));
+		assertTrue(LuaPattern.matches("x = (a)", "%b()"));
+		assertTrue(LuaPattern.matches("the cat", "%f[%w]cat"));
+		assertTrue(LuaPattern.matches("", ""));
+		assertTrue(LuaPattern.matches("", "^$"));
+	}
+
+	@Test
+	public void prefix() {
+		assertEquals("hello", LuaPattern.compile("^hello%s").getPrefix());
+		assertEquals("hell", LuaPattern.compile("hello?").getPrefix());
+		assertEquals("ab", LuaPattern.compile("ab+c").getPrefix());
+		assertEquals("", LuaPattern.compile("(ab)").getPrefix());
+
+		// Optional characters cannot form part of the prefix
+		assertTrue(LuaPattern.matches("hell", "hello?"));
+		assertTrue(LuaPattern.matches("xxabbbc", "ab+c"));
+	}
+
+	@Test
+	public void match() {
+		assertArrayEquals(new String[]{"key", "value"}, LuaPattern.match("key=value", "(%w+)=(%w+)"));
+		assertArrayEquals(new String[]{"world"}, LuaPattern.match("hello world", "w%a+"));
+		assertNull(LuaPattern.match("hello", "^w"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void malformed() {
+		LuaPattern.compile("abc[");
+	}
+
+	@Test
+	public void patternSet() {
+		LuaPatternSet set = new LuaPatternSet();
+		assertTrue(set.add("^!help"));
+		assertTrue(set.add("^%$"));
+		assertTrue(set.add("ping"));
+		assertFalse(set.add("ping"));
+
+		assertEquals("^!help", set.find("!help me").getPattern());
+		assertEquals("^%$", set.find("$100").getPattern());
+		assertEquals("ping", set.find("a ping").getPattern());
+		assertNull(set.find("!hel"));
+
+		assertTrue(set.remove("^!help"));
+		assertNull(set.find("!help me"));
+	}
+}